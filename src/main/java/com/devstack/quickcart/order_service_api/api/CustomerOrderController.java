@@ -1,24 +1,30 @@
 package com.devstack.quickcart.order_service_api.api;
 
 import com.devstack.quickcart.order_service_api.dto.request.CustomerOrderRequestDto;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
 import com.devstack.quickcart.order_service_api.service.CustomerOrderService;
+import com.devstack.quickcart.order_service_api.service.OrderStatusStreamService;
 import com.devstack.quickcart.order_service_api.util.StandardResponseDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("api/v1/customer-orders")
 @RequiredArgsConstructor
 public class CustomerOrderController {
     private final CustomerOrderService customerOrderService;
+    private final OrderStatusStreamService orderStatusStreamService;
 
     @PostMapping("/business")
     public ResponseEntity<StandardResponseDto> create(
             @RequestBody CustomerOrderRequestDto request,
-            @RequestHeader("Authorization") String tokenHeader) {
-        customerOrderService.createOrder(request,tokenHeader);
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        customerOrderService.createOrder(request,user);
         return new ResponseEntity<>(
                 new StandardResponseDto(
                         201,"customer order has been created",null
@@ -84,4 +90,14 @@ public class CustomerOrderController {
         );
     }
 
+    @GetMapping(value = "/visitors/stream/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrder(@PathVariable String id) {
+        return orderStatusStreamService.subscribeToOrder(id);
+    }
+
+    @GetMapping(value = "/business/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserOrders(@AuthenticationPrincipal AuthenticatedUser user) {
+        return orderStatusStreamService.subscribeToUser(user);
+    }
+
 }
@@ -0,0 +1,53 @@
+package com.devstack.quickcart.order_service_api.api;
+
+import com.devstack.quickcart.order_service_api.service.FlightRecorderService;
+import com.devstack.quickcart.order_service_api.util.StandardResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("api/v1/flight-recorder")
+@RequiredArgsConstructor
+public class FlightRecorderController {
+    private final FlightRecorderService flightRecorderService;
+
+    @PostMapping("/business/start")
+    public ResponseEntity<StandardResponseDto> start(@RequestParam(required = false) Integer durationSeconds,
+                                                     @RequestParam(required = false) Integer maxSizeMb) {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        201,"flight recording has been started",flightRecorderService.start(durationSeconds, maxSizeMb)
+                ), HttpStatus.CREATED
+        );
+    }
+
+    @GetMapping("/business/status")
+    public ResponseEntity<StandardResponseDto> status() {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"flight recording status",flightRecorderService.getStatus()
+                ), HttpStatus.OK
+        );
+    }
+
+    // stops the recording if it is still running and returns the .jfr file
+    @PostMapping("/business/stop")
+    public ResponseEntity<Resource> stop() {
+        Path recording = flightRecorderService.stop();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(recording.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(recording));
+    }
+
+}
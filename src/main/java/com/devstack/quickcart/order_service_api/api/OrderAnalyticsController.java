@@ -0,0 +1,58 @@
+package com.devstack.quickcart.order_service_api.api;
+
+import com.devstack.quickcart.order_service_api.service.OrderAnalyticsService;
+import com.devstack.quickcart.order_service_api.util.StandardResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("api/v1/order-analytics")
+@RequiredArgsConstructor
+public class OrderAnalyticsController {
+    private final OrderAnalyticsService orderAnalyticsService;
+
+    @GetMapping("/business/revenue-per-day")
+    public ResponseEntity<StandardResponseDto> revenuePerDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"revenue per day",orderAnalyticsService.revenuePerDay(from, to)
+                ), HttpStatus.OK
+        );
+    }
+
+    @GetMapping("/business/orders-per-status")
+    public ResponseEntity<StandardResponseDto> ordersPerStatus() {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"orders per status",orderAnalyticsService.ordersPerStatus()
+                ), HttpStatus.OK
+        );
+    }
+
+    @GetMapping("/business/top-products")
+    public ResponseEntity<StandardResponseDto> topProducts(@RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"top products",orderAnalyticsService.topProducts(limit)
+                ), HttpStatus.OK
+        );
+    }
+
+    @PostMapping("/business/rebuild")
+    public ResponseEntity<StandardResponseDto> rebuild() {
+        orderAnalyticsService.rebuild();
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"order rollups have been rebuilt",null
+                ), HttpStatus.OK
+        );
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.devstack.quickcart.order_service_api.api;
+
+import com.devstack.quickcart.order_service_api.service.OrderArchiveService;
+import com.devstack.quickcart.order_service_api.util.StandardResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/v1/order-archive")
+@RequiredArgsConstructor
+public class OrderArchiveController {
+    private final OrderArchiveService orderArchiveService;
+
+    @GetMapping("/business/stats")
+    public ResponseEntity<StandardResponseDto> stats() {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"order archive statistics",orderArchiveService.getStats()
+                ), HttpStatus.OK
+        );
+    }
+
+    @PostMapping("/business/run")
+    public ResponseEntity<StandardResponseDto> run() {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"finalized orders have been archived",orderArchiveService.archiveFinalizedOrders()
+                ), HttpStatus.OK
+        );
+    }
+
+}
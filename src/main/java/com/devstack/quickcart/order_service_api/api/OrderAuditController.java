@@ -0,0 +1,25 @@
+package com.devstack.quickcart.order_service_api.api;
+
+import com.devstack.quickcart.order_service_api.service.OrderAuditService;
+import com.devstack.quickcart.order_service_api.util.StandardResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/v1/order-audit")
+@RequiredArgsConstructor
+public class OrderAuditController {
+    private final OrderAuditService orderAuditService;
+
+    @GetMapping("/business/{orderId}")
+    public ResponseEntity<StandardResponseDto> findByOrderId(@PathVariable String orderId) {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"order audit trail",orderAuditService.findByOrderId(orderId)
+                ), HttpStatus.OK
+        );
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.devstack.quickcart.order_service_api.api;
+
+import com.devstack.quickcart.order_service_api.service.OrderExpiryService;
+import com.devstack.quickcart.order_service_api.util.StandardResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/v1/order-expiry")
+@RequiredArgsConstructor
+public class OrderExpiryController {
+    private final OrderExpiryService orderExpiryService;
+
+    @GetMapping("/business/stats")
+    public ResponseEntity<StandardResponseDto> stats() {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"order expiry statistics",orderExpiryService.getStats()
+                ), HttpStatus.OK
+        );
+    }
+
+    @PostMapping("/business/rebuild")
+    public ResponseEntity<StandardResponseDto> rebuild() {
+        orderExpiryService.rebuild();
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"order expiry wheel has been rebuilt",orderExpiryService.getStats()
+                ), HttpStatus.OK
+        );
+    }
+
+}
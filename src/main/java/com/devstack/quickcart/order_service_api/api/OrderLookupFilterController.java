@@ -0,0 +1,35 @@
+package com.devstack.quickcart.order_service_api.api;
+
+import com.devstack.quickcart.order_service_api.service.OrderLookupFilterService;
+import com.devstack.quickcart.order_service_api.util.StandardResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/v1/order-lookup-filter")
+@RequiredArgsConstructor
+public class OrderLookupFilterController {
+    private final OrderLookupFilterService orderLookupFilterService;
+
+    @GetMapping("/business/stats")
+    public ResponseEntity<StandardResponseDto> stats() {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"order lookup filter statistics",orderLookupFilterService.getStats()
+                ), HttpStatus.OK
+        );
+    }
+
+    @PostMapping("/business/rebuild")
+    public ResponseEntity<StandardResponseDto> rebuild() {
+        orderLookupFilterService.rebuild();
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"order lookup filter has been rebuilt",orderLookupFilterService.getStats()
+                ), HttpStatus.OK
+        );
+    }
+
+}
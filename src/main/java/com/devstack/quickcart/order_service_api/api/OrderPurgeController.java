@@ -0,0 +1,34 @@
+package com.devstack.quickcart.order_service_api.api;
+
+import com.devstack.quickcart.order_service_api.service.OrderPurgeService;
+import com.devstack.quickcart.order_service_api.util.StandardResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/v1/order-purge")
+@RequiredArgsConstructor
+public class OrderPurgeController {
+    private final OrderPurgeService orderPurgeService;
+
+    @GetMapping("/business/stats")
+    public ResponseEntity<StandardResponseDto> stats() {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"order purge statistics",orderPurgeService.getStats()
+                ), HttpStatus.OK
+        );
+    }
+
+    @PostMapping("/business/run")
+    public ResponseEntity<StandardResponseDto> run() {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"soft-deleted orders have been purged",orderPurgeService.purgeDeletedOrders()
+                ), HttpStatus.OK
+        );
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.devstack.quickcart.order_service_api.api;
+
+import com.devstack.quickcart.order_service_api.service.OrderSearchCacheService;
+import com.devstack.quickcart.order_service_api.util.StandardResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/v1/order-search-cache")
+@RequiredArgsConstructor
+public class OrderSearchCacheController {
+    private final OrderSearchCacheService orderSearchCacheService;
+
+    @GetMapping("/business/stats")
+    public ResponseEntity<StandardResponseDto> stats() {
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"search cache statistics",orderSearchCacheService.getStats()
+                ), HttpStatus.OK
+        );
+    }
+
+    @PostMapping("/business/clear")
+    public ResponseEntity<StandardResponseDto> clear() {
+        orderSearchCacheService.clear();
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"search cache has been cleared",orderSearchCacheService.getStats()
+                ), HttpStatus.OK
+        );
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.devstack.quickcart.order_service_api.api;
+
+import com.devstack.quickcart.order_service_api.service.PaymentService;
+import com.devstack.quickcart.order_service_api.util.StandardResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/v1/payments")
+@RequiredArgsConstructor
+public class PaymentWebhookController {
+    private final PaymentService paymentService;
+
+    @PostMapping("/webhook")
+    public ResponseEntity<StandardResponseDto> handleWebhook(
+            @RequestBody String payload,
+            @RequestHeader("Stripe-Signature") String signature) {
+        paymentService.handleWebhook(payload, signature);
+        return new ResponseEntity<>(
+                new StandardResponseDto(
+                        200,"webhook has been processed",null
+                ), HttpStatus.OK
+        );
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.devstack.quickcart.order_service_api.audit;
+
+/**
+ * What an audit record describes. {@code before}/{@code after} hold the value
+ * of the field the event changes; the code is what is stored on disk, so
+ * existing entries must never be renumbered.
+ */
+public enum AuditEventType {
+    ORDER_CREATED(1),       // after = initial status, detail = payment intent
+    ORDER_UPDATED(2),       // before/after = total amount
+    REMARK_CHANGED(3),      // before/after = remark
+    STATUS_CHANGED(4),      // before/after = status
+    ORDER_DELETED(5),       // before = last status
+    PAYMENT_CONFIRMED(6),   // before/after = status, detail = Stripe status
+    PAYMENT_FAILED(7);      // before/after = status, detail = failure reason
+
+    private static final AuditEventType[] BY_CODE = new AuditEventType[8];
+
+    static {
+        for (AuditEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    AuditEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static AuditEventType fromCode(byte code) {
+        if (code <= 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+            throw new IllegalArgumentException("Unknown audit event code " + code);
+        }
+        return BY_CODE[code];
+    }
+}
@@ -0,0 +1,252 @@
+package com.devstack.quickcart.order_service_api.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only audit trail of order mutations.
+ * <p>
+ * Callers claim a slot in a pre-allocated ring with one atomic increment, copy
+ * their values into the slot's char arrays and publish it, so {@link #append}
+ * allocates nothing. A single writer thread drains the ring in sequence order
+ * into memory-mapped segment files of {@code segmentSize} bytes, rolling to a
+ * new file when one is full. A full ring parks the caller until the writer
+ * catches up rather than dropping entries.
+ * <p>
+ * Record layout: {@code int length | long sequence | long timestamp | byte type
+ * | double amount} followed by five texts ({@code short length, chars}, length
+ * -1 for null). The length is written last, so a record torn by a crash reads
+ * as the end of the segment. See {@link AuditLogReader}.
+ */
+@Slf4j
+public class AuditLog implements AutoCloseable {
+
+    public static final int MAX_ID_LENGTH = 64;
+    public static final int MAX_TEXT_LENGTH = 256;
+    static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    static final int FIXED_RECORD_BYTES = 8 + 8 + 1 + 8;
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long forceIntervalNanos;
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder stalls = new LongAdder();
+    private final long startedAt = System.currentTimeMillis();
+    private final Thread writer;
+    private volatile long consumed;
+    private volatile boolean running = true;
+
+    // writer thread only
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private long lastForce = System.nanoTime();
+    private boolean dirty;
+
+    public AuditLog(Path directory, int ringCapacity, int segmentSize, long forceIntervalMillis) {
+        if (Integer.bitCount(ringCapacity) != 1) {
+            throw new IllegalArgumentException("Audit ring capacity must be a power of two, got " + ringCapacity);
+        }
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Audit segments must be at least " + MIN_SEGMENT_SIZE + " bytes, got " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceIntervalNanos = TimeUnit.MILLISECONDS.toNanos(forceIntervalMillis);
+        this.slots = new Slot[ringCapacity];
+        this.mask = ringCapacity - 1;
+        this.published = new AtomicLongArray(ringCapacity);
+        for (int i = 0; i < ringCapacity; i++) {
+            slots[i] = new Slot();
+            published.set(i, -1);
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create audit directory " + directory, e);
+        }
+        this.writer = new Thread(this::drain, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void append(AuditEventType type, String orderId, String actor, String before, String after, String detail, double amount) {
+        if (!running) {
+            return;
+        }
+        long sequence = claimed.getAndIncrement();
+        while (sequence - slots.length >= consumed) {
+            // the writer still owns this slot from the previous lap
+            stalls.increment();
+            LockSupport.parkNanos(50_000);
+        }
+        int index = (int) sequence & mask;
+        Slot slot = slots[index];
+        slot.timestamp = System.currentTimeMillis();
+        slot.type = type.getCode();
+        slot.amount = amount;
+        slot.orderIdLength = copy(orderId, slot.orderId);
+        slot.actorLength = copy(actor, slot.actor);
+        slot.beforeLength = copy(before, slot.before);
+        slot.afterLength = copy(after, slot.after);
+        slot.detailLength = copy(detail, slot.detail);
+        published.set(index, sequence);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getAppended() {
+        return claimed.get();
+    }
+
+    public long getWritten() {
+        return consumed;
+    }
+
+    public long getStalls() {
+        return stalls.sum();
+    }
+
+    // Lets the writer drain what was already published, then forces the last segment.
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        long next = 0;
+        int idle = 0;
+        while (running || next < claimed.get()) {
+            int index = (int) next & mask;
+            if (published.get(index) != next) {
+                idle = idleWait(idle);
+                continue;
+            }
+            idle = 0;
+            try {
+                write(slots[index], next);
+            } catch (RuntimeException e) {
+                log.error("Audit record {} could not be written", next, e);
+            }
+            consumed = ++next;
+        }
+        force();
+    }
+
+    private int idleWait(int idle) {
+        if (idle < 100) {
+            Thread.onSpinWait();
+        } else if (idle < 200) {
+            Thread.yield();
+        } else {
+            if (dirty && System.nanoTime() - lastForce >= forceIntervalNanos) {
+                force();
+            }
+            LockSupport.parkNanos(Math.min(1_000_000, 10_000L * (idle - 199)));
+        }
+        return idle + 1;
+    }
+
+    private void write(Slot slot, long sequence) {
+        int length = FIXED_RECORD_BYTES + textBytes(slot.orderIdLength) + textBytes(slot.actorLength)
+                + textBytes(slot.beforeLength) + textBytes(slot.afterLength) + textBytes(slot.detailLength);
+        if (segment == null || segment.remaining() < length + 4) {
+            roll();
+        }
+        int start = segment.position();
+        segment.position(start + 4);
+        segment.putLong(sequence).putLong(slot.timestamp).put(slot.type).putDouble(slot.amount);
+        putText(slot.orderId, slot.orderIdLength);
+        putText(slot.actor, slot.actorLength);
+        putText(slot.before, slot.beforeLength);
+        putText(slot.after, slot.afterLength);
+        putText(slot.detail, slot.detailLength);
+        segment.putInt(start, length);
+        dirty = true;
+    }
+
+    private void roll() {
+        force();
+        while (true) {
+            Path path = directory.resolve(String.format("%s%013d-%05d%s", SEGMENT_PREFIX, startedAt, segmentIndex++, SEGMENT_SUFFIX));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+                return;
+            } catch (FileAlreadyExistsException e) {
+                // another instance started in the same millisecond, take the next index
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to open audit segment " + path, e);
+            }
+        }
+    }
+
+    private void force() {
+        if (segment != null && dirty) {
+            segment.force();
+        }
+        dirty = false;
+        lastForce = System.nanoTime();
+    }
+
+    private void putText(char[] chars, int length) {
+        segment.putShort((short) length);
+        for (int i = 0; i < length; i++) {
+            segment.putChar(chars[i]);
+        }
+    }
+
+    private static int textBytes(int length) {
+        return 2 + Math.max(0, length) * 2;
+    }
+
+    // Longer values are truncated to the slot's capacity.
+    private static int copy(String value, char[] target) {
+        if (value == null) {
+            return -1;
+        }
+        int length = Math.min(value.length(), target.length);
+        value.getChars(0, length, target, 0);
+        return length;
+    }
+
+    private static final class Slot {
+        long timestamp;
+        byte type;
+        double amount;
+        final char[] orderId = new char[MAX_ID_LENGTH];
+        final char[] actor = new char[MAX_ID_LENGTH * 2];
+        final char[] before = new char[MAX_TEXT_LENGTH];
+        final char[] after = new char[MAX_TEXT_LENGTH];
+        final char[] detail = new char[MAX_TEXT_LENGTH];
+        int orderIdLength;
+        int actorLength;
+        int beforeLength;
+        int afterLength;
+        int detailLength;
+    }
+}
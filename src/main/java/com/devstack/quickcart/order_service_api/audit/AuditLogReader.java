@@ -0,0 +1,106 @@
+package com.devstack.quickcart.order_service_api.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Reads the segments written by {@link AuditLog}, oldest first. Safe to run
+ * against a live directory: the segment being written simply ends at the last
+ * complete record.
+ * <pre>java -cp order-service-api.jar com.devstack.quickcart.order_service_api.audit.AuditLogReader audit [orderId]</pre>
+ */
+public final class AuditLogReader {
+
+    private AuditLogReader() {
+    }
+
+    public static List<Path> segments(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(AuditLog.SEGMENT_PREFIX) && name.endsWith(AuditLog.SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list audit segments in " + directory, e);
+        }
+    }
+
+    public static void forEach(Path directory, Consumer<AuditRecord> consumer) {
+        for (Path segment : segments(directory)) {
+            readSegment(segment, consumer);
+        }
+    }
+
+    public static List<AuditRecord> find(Path directory, Predicate<AuditRecord> filter) {
+        List<AuditRecord> matches = new ArrayList<>();
+        forEach(directory, record -> {
+            if (filter.test(record)) {
+                matches.add(record);
+            }
+        });
+        return matches;
+    }
+
+    public static void readSegment(Path segment, Consumer<AuditRecord> consumer) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read audit segment " + segment, e);
+        }
+        while (buffer.remaining() >= 4) {
+            int length = buffer.getInt(buffer.position());
+            if (length < AuditLog.FIXED_RECORD_BYTES || length > buffer.remaining() - 4) {
+                return;
+            }
+            buffer.position(buffer.position() + 4);
+            long sequence = buffer.getLong();
+            long timestamp = buffer.getLong();
+            AuditEventType type = AuditEventType.fromCode(buffer.get());
+            double amount = buffer.getDouble();
+            consumer.accept(new AuditRecord(sequence, timestamp, type,
+                    getText(buffer), getText(buffer), getText(buffer), getText(buffer), getText(buffer), amount));
+        }
+    }
+
+    private static String getText(MappedByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = buffer.getChar();
+        }
+        return new String(chars);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("usage: AuditLogReader <audit directory> [orderId]");
+            System.exit(1);
+        }
+        String orderId = args.length > 1 ? args[1] : null;
+        forEach(Paths.get(args[0]), record -> {
+            if (orderId == null || orderId.equals(record.orderId())) {
+                System.out.println(record);
+            }
+        });
+    }
+}
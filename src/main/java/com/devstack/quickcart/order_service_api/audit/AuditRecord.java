@@ -0,0 +1,16 @@
+package com.devstack.quickcart.order_service_api.audit;
+
+/**
+ * One decoded audit entry. {@code sequence} is only unique within the process
+ * run that wrote it; {@code timestamp} orders entries across runs.
+ */
+public record AuditRecord(long sequence,
+                          long timestamp,
+                          AuditEventType type,
+                          String orderId,
+                          String actor,
+                          String before,
+                          String after,
+                          String detail,
+                          double amount) {
+}
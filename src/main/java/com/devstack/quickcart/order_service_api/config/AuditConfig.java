@@ -0,0 +1,20 @@
+package com.devstack.quickcart.order_service_api.config;
+
+import com.devstack.quickcart.order_service_api.audit.AuditLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class AuditConfig {
+
+    @Bean(destroyMethod = "close")
+    public AuditLog auditLog(@Value("${audit.directory:audit}") String directory,
+                             @Value("${audit.ring-capacity:4096}") int ringCapacity,
+                             @Value("${audit.segment-size-mb:64}") int segmentSizeMb,
+                             @Value("${audit.force-interval-ms:1000}") long forceIntervalMs) {
+        return new AuditLog(Paths.get(directory), ringCapacity, segmentSizeMb * 1024 * 1024, forceIntervalMs);
+    }
+}
@@ -0,0 +1,60 @@
+package com.devstack.quickcart.order_service_api.config;
+
+import com.devstack.quickcart.order_service_api.sharding.ShardedDataSource;
+import com.devstack.quickcart.order_service_api.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class ShardingConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    /**
+     * Every shard is a Hikari pool bound from {@code spring.datasource.hikari.*}, as
+     * Boot's own Hikari DataSource configuration does for the single pool it builds.
+     * Extra shards then take their own {@code sharding.datasources[n].hikari.*} on top.
+     */
+    @Bean(destroyMethod = "close")
+    public DataSource dataSource(DataSourceProperties primary, ShardingProperties sharding, Environment environment) {
+        Binder binder = Binder.get(environment);
+        List<DataSource> shards = new ArrayList<>();
+
+        HikariDataSource first = primary.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(first));
+        if (StringUtils.hasText(primary.getName())) {
+            first.setPoolName(primary.getName());
+        }
+        shards.add(first);
+
+        for (int i = 0; i < sharding.getDatasources().size(); i++) {
+            ShardingProperties.Shard shard = sharding.getDatasources().get(i);
+            DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword());
+            if (shard.getDriverClassName() != null) {
+                builder.driverClassName(shard.getDriverClassName());
+            }
+            HikariDataSource pool = builder.build();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+            // pool names must differ, or MBean registration and pool logs collide
+            pool.setPoolName((first.getPoolName() != null ? first.getPoolName() : "HikariPool") + "-shard-" + (i + 1));
+            binder.bind("sharding.datasources[" + i + "].hikari", Bindable.ofInstance(pool));
+            shards.add(pool);
+        }
+        return new ShardedDataSource(shards);
+    }
+}
@@ -0,0 +1,18 @@
+package com.devstack.quickcart.order_service_api.config;
+
+import com.devstack.quickcart.order_service_api.monitoring.SqlMonitoringPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class SqlMonitoringConfig {
+
+    @Bean
+    public static SqlMonitoringPostProcessor sqlMonitoringPostProcessor(Environment environment) {
+        long thresholdMs = environment.getProperty("sql.slow-query-threshold-ms", Long.class, 200L);
+        return new SqlMonitoringPostProcessor(TimeUnit.MILLISECONDS.toNanos(thresholdMs));
+    }
+}
@@ -0,0 +1,15 @@
+package com.devstack.quickcart.order_service_api.config;
+
+import com.devstack.quickcart.order_service_api.stripe.PooledStripeHttpClient;
+import com.devstack.quickcart.order_service_api.stripe.StripeHttpProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StripeConfig {
+
+    @Bean(destroyMethod = "close")
+    public PooledStripeHttpClient stripeHttpClient(StripeHttpProperties properties) {
+        return new PooledStripeHttpClient(properties);
+    }
+}
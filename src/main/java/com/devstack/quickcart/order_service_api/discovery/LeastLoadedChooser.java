@@ -0,0 +1,58 @@
+package com.devstack.quickcart.order_service_api.discovery;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks an instance by the {@code load.score} its service publishes to Eureka.
+ * Scores are seconds old, so always taking the minimum would send every caller
+ * to the same instance until its next publish; instead two random instances are
+ * compared and the lighter one wins, which keeps load even without the herd.
+ * Has no dependency on this service, so other QuickCart services can reuse it.
+ */
+public class LeastLoadedChooser {
+
+    private final int unknownScore;
+
+    public LeastLoadedChooser() {
+        this(50);
+    }
+
+    // unknownScore is assumed for instances that have not published yet
+    public LeastLoadedChooser(int unknownScore) {
+        this.unknownScore = unknownScore;
+    }
+
+    public Optional<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances == null || instances.isEmpty()) {
+            return Optional.empty();
+        }
+        if (instances.size() == 1) {
+            return Optional.of(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return Optional.of(scoreOf(b) < scoreOf(a) ? b : a);
+    }
+
+    public int scoreOf(ServiceInstance instance) {
+        String score = instance.getMetadata() == null ? null : instance.getMetadata().get(LoadMetadataPublisher.SCORE_KEY);
+        if (score == null) {
+            return unknownScore;
+        }
+        try {
+            return Integer.parseInt(score);
+        } catch (NumberFormatException e) {
+            return unknownScore;
+        }
+    }
+}
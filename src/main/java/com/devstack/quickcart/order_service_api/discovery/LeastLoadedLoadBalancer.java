@@ -0,0 +1,36 @@
+package com.devstack.quickcart.order_service_api.discovery;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Cloud LoadBalancer adapter for {@link LeastLoadedChooser}. Callers opt in
+ * with {@code @LoadBalancerClients(defaultConfiguration = LeastLoadedLoadBalancerConfiguration.class)}.
+ */
+public class LeastLoadedLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> instanceListSupplier;
+    private final LeastLoadedChooser chooser;
+
+    public LeastLoadedLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> instanceListSupplier, LeastLoadedChooser chooser) {
+        this.instanceListSupplier = instanceListSupplier;
+        this.chooser = chooser;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = instanceListSupplier.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next()
+                .map(instances -> chooser.choose(instances)
+                        .<Response<ServiceInstance>>map(DefaultResponse::new)
+                        .orElseGet(EmptyResponse::new));
+    }
+}
@@ -0,0 +1,16 @@
+package com.devstack.quickcart.order_service_api.discovery;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.annotation.Bean;
+
+// Deliberately not a @Configuration: LoadBalancer builds one child context per service from it.
+public class LeastLoadedLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> leastLoadedLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> instanceListSupplier) {
+        return new LeastLoadedLoadBalancer(instanceListSupplier, new LeastLoadedChooser());
+    }
+}
@@ -0,0 +1,51 @@
+package com.devstack.quickcart.order_service_api.discovery;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Writes the {@link LoadMonitor} score into this instance's Eureka metadata. The
+ * client replicates changed metadata on its own schedule, so small wobbles are
+ * not published to keep registry churn down.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadMetadataPublisher {
+
+    public static final String SCORE_KEY = "load.score";
+    public static final String IN_FLIGHT_KEY = "load.in-flight";
+    public static final String POOL_SATURATION_KEY = "load.pool-saturation";
+    public static final String P99_KEY = "load.p99-ms";
+
+    private final LoadMonitor loadMonitor;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    @Value("${load.publish-min-delta:5}")
+    private int minDelta;
+
+    private volatile int publishedScore = -1;
+
+    @Scheduled(fixedDelayString = "${load.publish-interval-ms:5000}")
+    public void publish() {
+        LoadMonitor.LoadSnapshot snapshot = loadMonitor.sample();
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (manager == null || Math.abs(snapshot.score() - publishedScore) < minDelta) {
+            return;
+        }
+        manager.registerAppMetadata(Map.of(
+                SCORE_KEY, String.valueOf(snapshot.score()),
+                IN_FLIGHT_KEY, String.valueOf(snapshot.inFlight()),
+                POOL_SATURATION_KEY, String.format("%.2f", snapshot.poolSaturation()),
+                P99_KEY, String.valueOf(snapshot.p99Millis())));
+        publishedScore = snapshot.score();
+        log.debug("Published load score {}", snapshot);
+    }
+}
@@ -0,0 +1,80 @@
+package com.devstack.quickcart.order_service_api.discovery;
+
+import com.devstack.quickcart.order_service_api.sharding.ShardedDataSource;
+import com.devstack.quickcart.order_service_api.util.LatencyHistogram;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live load of this instance: requests in flight, how close the busiest
+ * connection pool is to exhaustion and the p99 latency of the last window.
+ * The score is the worst of the three, normalised so 100 means "at capacity".
+ */
+@Component
+@RequiredArgsConstructor
+public class LoadMonitor {
+
+    private final DataSource dataSource;
+
+    @Value("${load.score.in-flight-capacity:200}")
+    private int inFlightCapacity;
+
+    @Value("${load.score.p99-target-ms:500}")
+    private long p99TargetMs;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<LatencyHistogram> window = new AtomicReference<>(new LatencyHistogram());
+
+    public void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void requestFinished(long nanos) {
+        inFlight.decrementAndGet();
+        window.get().record(nanos);
+    }
+
+    // Closes the current latency window and scores the instance on it.
+    public LoadSnapshot sample() {
+        LatencyHistogram closed = window.getAndSet(new LatencyHistogram());
+        int requests = inFlight.get();
+        double poolSaturation = poolSaturation();
+        long p99Ms = closed.percentileMillis(0.99);
+        double load = Math.max(Math.max((double) requests / inFlightCapacity, poolSaturation), (double) p99Ms / p99TargetMs);
+        int score = (int) Math.min(1_000, Math.round(load * 100));
+        return new LoadSnapshot(score, requests, poolSaturation, p99Ms);
+    }
+
+    private double poolSaturation() {
+        List<DataSource> pools;
+        try {
+            pools = dataSource.isWrapperFor(ShardedDataSource.class)
+                    ? dataSource.unwrap(ShardedDataSource.class).getShards() : List.of(dataSource);
+        } catch (SQLException e) {
+            pools = List.of(dataSource);
+        }
+        double worst = 0;
+        for (DataSource pool : pools) {
+            if (pool instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+                HikariPoolMXBean bean = hikari.getHikariPoolMXBean();
+                // waiting threads count as demand beyond the pool
+                double saturation = (double) (bean.getActiveConnections() + bean.getThreadsAwaitingConnection())
+                        / hikari.getMaximumPoolSize();
+                worst = Math.max(worst, saturation);
+            }
+        }
+        return worst;
+    }
+
+    public record LoadSnapshot(int score, int inFlight, double poolSaturation, long p99Millis) {
+    }
+}
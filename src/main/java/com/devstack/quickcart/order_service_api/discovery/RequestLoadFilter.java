@@ -0,0 +1,34 @@
+package com.devstack.quickcart.order_service_api.discovery;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Outermost filter, so rejected and rate-limited requests count towards load too.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestLoadFilter extends OncePerRequestFilter {
+
+    private final LoadMonitor loadMonitor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        loadMonitor.requestStarted();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            loadMonitor.requestFinished(System.nanoTime() - started);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ArchiveStatsResponseDto {
+    private long archivedOrders;
+    private long rawBytes;
+    private long storedBytes;
+    private long bytesSaved;
+    private double compressionRatio;
+    private long ordersArchivedSinceStart;
+    private long detailRowsMovedSinceStart;
+    private long lastRunOrders;
+    private long lastRunMillis;
+    private long archiveLookups;
+    private double archiveLookupAvgMillis;
+    private long liveLookups;
+    private double liveLookupAvgMillis;
+}
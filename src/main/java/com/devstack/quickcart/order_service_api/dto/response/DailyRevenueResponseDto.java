@@ -0,0 +1,14 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DailyRevenueResponseDto {
+    private String date;
+    private long orderCount;
+    private double revenue;
+}
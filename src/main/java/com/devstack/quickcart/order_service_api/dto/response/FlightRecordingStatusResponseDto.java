@@ -0,0 +1,19 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FlightRecordingStatusResponseDto {
+    private String state;
+    private String settings;
+    private Date startedAt;
+    private long maxDurationSeconds;
+    private long maxSizeBytes;
+    private long recordedBytes;
+}
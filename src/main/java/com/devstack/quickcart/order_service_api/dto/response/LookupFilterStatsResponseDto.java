@@ -0,0 +1,25 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LookupFilterStatsResponseDto {
+    private boolean ready;
+    private long orderIds;
+    private long intentIds;
+    private long bitsPerFilter;
+    private int hashFunctions;
+    private double estimatedOrderFalsePositiveRate;
+    private double estimatedIntentFalsePositiveRate;
+    private long lookups;
+    private long rejected;
+    private long falsePositives;
+    private double observedFalsePositiveRate;
+    private long deletesSinceRebuild;
+    private long lastRebuildMillis;
+    private long coveredUntil;
+}
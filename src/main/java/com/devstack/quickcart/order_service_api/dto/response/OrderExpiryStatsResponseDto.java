@@ -0,0 +1,18 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderExpiryStatsResponseDto {
+    private boolean ready;
+    private long trackedOrders;
+    private long pendingTimeoutMs;
+    private long ordersExpired;
+    private long intentsCancelled;
+    private long cancelFailures;
+    private long lastRebuildMillis;
+}
@@ -0,0 +1,18 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderStatusEventDto {
+    private String orderId;
+    private String type; // SNAPSHOT, UPDATED, DELETED
+    private String status;
+    private String remark;
+    private Date timestamp;
+}
@@ -0,0 +1,15 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductSalesResponseDto {
+    private String productId;
+    private long orderCount;
+    private long quantity;
+    private double revenue;
+}
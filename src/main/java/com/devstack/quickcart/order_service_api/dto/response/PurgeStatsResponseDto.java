@@ -0,0 +1,21 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PurgeStatsResponseDto {
+    private long awaitingPurge;
+    private Date oldestDeletedAt;
+    private long ordersPurgedSinceStart;
+    private long detailRowsPurgedSinceStart;
+    private long batchesSinceStart;
+    private double batchAvgMillis;
+    private long lastRunOrders;
+    private long lastRunMillis;
+}
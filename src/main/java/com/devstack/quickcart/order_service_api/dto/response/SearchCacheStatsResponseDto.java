@@ -0,0 +1,22 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SearchCacheStatsResponseDto {
+    private boolean enabled;
+    private long entries;
+    private long weightBytes;
+    private long maxWeightBytes;
+    private long writeVersion;
+    private long hits;
+    private long misses;
+    private long staleMisses;
+    private long expiredMisses;
+    private long evictions;
+    private double hitRatio;
+}
@@ -0,0 +1,14 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StatusCountResponseDto {
+    private String status;
+    private long orderCount;
+    private double amount;
+}
@@ -0,0 +1,18 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StripeEndpointStatsResponseDto {
+    private String endpoint;
+    private long calls;
+    private long errorResponses;
+    private long connectionFailures;
+    private long p50Millis;
+    private long p95Millis;
+    private long p99Millis;
+}
@@ -0,0 +1,20 @@
+package com.devstack.quickcart.order_service_api.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StripeTransportStatsResponseDto {
+    private int maxConnections;
+    private int leasedConnections;
+    private int idleConnections;
+    private int pendingRequests;
+    private long connectionsOpened;
+    private long retries;
+    private List<StripeEndpointStatsResponseDto> endpoints;
+}
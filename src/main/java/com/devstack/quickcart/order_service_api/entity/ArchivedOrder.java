@@ -0,0 +1,35 @@
+package com.devstack.quickcart.order_service_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+@Entity(name = "archived_customer_order")
+@Table(indexes = @Index(name = "idx_archived_order_date", columnList = "order_date"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ArchivedOrder {
+    @Id
+    @Column(name="order_id", unique=true, nullable=false, length=80)
+    private String orderId;
+    @Column(name="user_id", nullable=false, length=80)
+    private String userId;
+    @Column(name="order_date", nullable=false, columnDefinition = "DATETIME")
+    private Date orderDate;
+    @Column(name="status", nullable=false, length=80)
+    private String status;
+    @Column(name="total_amount", nullable=false)
+    private double totalAmount;
+    @Column(name="archived_at", nullable=false, columnDefinition = "DATETIME")
+    private Date archivedAt;
+    @Column(name="raw_size", nullable=false)
+    private int rawSize;
+    //gzip-compressed JSON of the order and its details
+    @Lob
+    @Column(name="payload", nullable=false, columnDefinition = "MEDIUMBLOB")
+    private byte[] payload;
+}
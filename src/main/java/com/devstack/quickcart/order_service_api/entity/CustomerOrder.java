@@ -1,21 +1,30 @@
 package com.devstack.quickcart.order_service_api.entity;
 
+import com.devstack.quickcart.order_service_api.util.LineSnapshotCodec;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
+import org.springframework.data.domain.Persistable;
 
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity(name = "customer_order")
+@Table(indexes = {
+        @Index(name = "idx_customer_order_date", columnList = "order_date"),
+        @Index(name = "idx_customer_order_deleted_at", columnList = "deleted_at")
+})
+// soft-deleted rows wait for OrderPurgeService; native queries filter them explicitly
+@SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-public class CustomerOrder {
+public class CustomerOrder implements Persistable<String> {
     @Id
     @Column(name="order_id", unique=true, nullable=false, length=80)
     private String orderId;
@@ -31,6 +40,11 @@ public class CustomerOrder {
     private String userId;
     @Column(name="remark", length=750)
     private String remark;
+    // status and lines as LineSnapshotCodec JSON, null when they do not fit; order_detail stays authoritative
+    @Column(name="line_snapshot", length=LineSnapshotCodec.MAX_LENGTH)
+    private String lineSnapshot;
+    @Column(name="deleted_at", columnDefinition = "DATETIME")
+    private Date deletedAt;
     //===================
     @OneToMany(mappedBy = "customerOrder", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<OrderDetail> products = new HashSet<>();
@@ -39,4 +53,24 @@ public class CustomerOrder {
     @JoinColumn(name = "order_status_id")
     private OrderStatus orderStatus;
 
+    // order ids are assigned, so tell save() to persist instead of select-then-merge
+    @Transient
+    private boolean newOrder = true;
+
+    @Override
+    public String getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newOrder;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newOrder = false;
+    }
+
 }
@@ -0,0 +1,22 @@
+package com.devstack.quickcart.order_service_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+@Entity(name = "job_lease")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class JobLease {
+    @Id
+    @Column(name="job_name", unique=true, nullable=false, length=80)
+    private String jobName;
+    @Column(name="locked_until", nullable=false, columnDefinition = "DATETIME")
+    private Date lockedUntil;
+    @Column(name="locked_by", nullable=false, length=80)
+    private String lockedBy;
+}
@@ -12,9 +12,9 @@ import java.util.Date;
 @NoArgsConstructor
 @Builder
 public class OrderDetail {
+    // assigned by the service before persist, so the order's line snapshot can carry it
     @Id
     @Column(name="detail_id", unique=true, nullable=false, length=80)
-    @GeneratedValue(strategy = GenerationType.UUID)
     private String detailId;
 
     @Column(name="product_id", nullable=false, length=80)
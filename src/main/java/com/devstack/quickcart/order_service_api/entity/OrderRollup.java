@@ -0,0 +1,27 @@
+package com.devstack.quickcart.order_service_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity(name = "order_rollup")
+@Table(indexes = @Index(name = "idx_order_rollup_dimension", columnList = "dimension"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderRollup {
+    @Id
+    @Column(name="rollup_id", unique=true, nullable=false, length=210)
+    private String rollupId; // DAY:2024-01-31, STATUS:PENDING, PRODUCT:<productId>
+    @Column(name="dimension", nullable=false, length=20)
+    private String dimension;
+    @Column(name="dimension_key", nullable=false, length=180)
+    private String dimensionKey;
+    @Column(name="order_count", nullable=false)
+    private long orderCount;
+    @Column(name="quantity", nullable=false)
+    private long quantity;
+    @Column(name="amount", nullable=false)
+    private double amount;
+}
@@ -0,0 +1,9 @@
+package com.devstack.quickcart.order_service_api.entity;
+
+public enum RollupDimension {
+    DAY, STATUS, PRODUCT;
+
+    public String rollupId(String key) {
+        return name() + ":" + key;
+    }
+}
@@ -0,0 +1,18 @@
+package com.devstack.quickcart.order_service_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity(name = "rollup_epoch")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RollupEpoch {
+    @Id
+    @Column(name="epoch_name", unique=true, nullable=false, length=80)
+    private String epochName;
+    @Column(name="rebuilt_from", nullable=false)
+    private long rebuiltFrom; // epoch millis; deltas recorded before it are part of the last rebuild
+}
@@ -0,0 +1,24 @@
+package com.devstack.quickcart.order_service_api.jfr;
+
+import jdk.jfr.*;
+
+@Name("com.devstack.quickcart.JwtVerification")
+@Label("JWT Verification")
+@Category({"QuickCart", "Security"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Subject")
+    String subject;
+
+    @Label("Failure")
+    String failure;
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+}
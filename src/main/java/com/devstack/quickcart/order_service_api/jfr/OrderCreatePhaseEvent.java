@@ -0,0 +1,49 @@
+package com.devstack.quickcart.order_service_api.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One phase of {@code createOrder}. Phases run back to back, so a recording
+ * shows where order creation spends its time next to GC and lock events.
+ * The inserts themselves are flushed at commit and show up as
+ * {@link SqlStatementEvent}s right after the last phase.
+ */
+@Name("com.devstack.quickcart.OrderCreatePhase")
+@Label("Create Order Phase")
+@Category({"QuickCart", "Orders"})
+@StackTrace(false)
+public class OrderCreatePhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Order Id")
+    String orderId;
+
+    @Label("Failed")
+    boolean failed;
+
+    public static OrderCreatePhaseEvent start(String phase) {
+        OrderCreatePhaseEvent event = new OrderCreatePhaseEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    // Ends this phase and starts the next, carrying the order id over.
+    public OrderCreatePhaseEvent next(String phase) {
+        commit();
+        OrderCreatePhaseEvent next = start(phase);
+        next.orderId = orderId;
+        return next;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public void fail() {
+        failed = true;
+        commit();
+    }
+}
@@ -0,0 +1,24 @@
+package com.devstack.quickcart.order_service_api.jfr;
+
+import jdk.jfr.*;
+
+@Name("com.devstack.quickcart.SqlStatement")
+@Label("SQL Statement")
+@Category({"QuickCart", "Database"})
+@StackTrace(false)
+public class SqlStatementEvent extends Event {
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Repository Method")
+    String repositoryMethod;
+
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    public void setRepositoryMethod(String repositoryMethod) {
+        this.repositoryMethod = repositoryMethod;
+    }
+}
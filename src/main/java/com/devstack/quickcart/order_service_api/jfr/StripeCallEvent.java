@@ -0,0 +1,28 @@
+package com.devstack.quickcart.order_service_api.jfr;
+
+import jdk.jfr.*;
+
+@Name("com.devstack.quickcart.StripeCall")
+@Label("Stripe Call")
+@Category({"QuickCart", "Payments"})
+@StackTrace(false)
+public class StripeCallEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Payment Intent Id")
+    String paymentIntentId;
+
+    @Label("Error Code")
+    String errorCode;
+
+    public StripeCallEvent(String operation, String paymentIntentId) {
+        this.operation = operation;
+        this.paymentIntentId = paymentIntentId;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+}
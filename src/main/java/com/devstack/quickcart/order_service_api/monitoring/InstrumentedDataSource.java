@@ -0,0 +1,94 @@
+package com.devstack.quickcart.order_service_api.monitoring;
+
+import com.devstack.quickcart.order_service_api.jfr.SqlStatementEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+
+/**
+ * Times every statement execution, feeds it to {@link SqlStatementTracker} and logs
+ * the ones slower than the configured threshold together with the repository
+ * method that issued them.
+ */
+@Slf4j
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final long slowThresholdNanos;
+
+    public InstrumentedDataSource(DataSource target, long slowThresholdNanos) {
+        super(target);
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof CallableStatement statement) {
+                        return wrapStatement(statement, CallableStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return wrapStatement(statement, PreparedStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof Statement statement) {
+                        return wrapStatement(statement, Statement.class, null);
+                    }
+                    return result;
+                });
+    }
+
+    private Object wrapStatement(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String s ? s : "<batch>";
+            SqlStatementEvent event = new SqlStatementEvent();
+            event.begin();
+            long started = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - started;
+                SqlStatementTracker.record(sql, elapsed);
+                if (event.shouldCommit()) {
+                    event.setSql(sql);
+                    event.setRepositoryMethod(SqlStatementTracker.currentRepositoryMethod());
+                    event.commit();
+                }
+                if (elapsed >= slowThresholdNanos) {
+                    String caller = SqlStatementTracker.currentRepositoryMethod();
+                    log.warn("Slow SQL ({} ms) from {}: {}", elapsed / 1_000_000, caller != null ? caller : "<no repository>", sql);
+                }
+            }
+        };
+        return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.devstack.quickcart.order_service_api.monitoring;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statements executed on the opening thread between {@link SqlStatementTracker#open}
+ * and {@link #close()}. Scopes nest; a statement counts towards every open scope.
+ */
+public final class QueryScope implements AutoCloseable {
+
+    private final String name;
+    private final Map<StatementType, Integer> counts = new EnumMap<>(StatementType.class);
+    private final List<String> statements = new ArrayList<>();
+    private long totalNanos;
+
+    QueryScope(String name) {
+        this.name = name;
+    }
+
+    void record(String sql, long nanos) {
+        counts.merge(StatementType.of(sql), 1, Integer::sum);
+        statements.add(sql);
+        totalNanos += nanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int count(StatementType type) {
+        return counts.getOrDefault(type, 0);
+    }
+
+    public int total() {
+        return statements.size();
+    }
+
+    public double totalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    public List<String> statements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    @Override
+    public void close() {
+        SqlStatementTracker.close(this);
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + counts + " in " + String.format("%.2f", totalMillis()) + " ms";
+    }
+}
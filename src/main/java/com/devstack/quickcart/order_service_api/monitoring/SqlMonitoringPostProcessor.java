@@ -0,0 +1,48 @@
+package com.devstack.quickcart.order_service_api.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource in an {@link InstrumentedDataSource} and tags every Spring
+ * Data repository call, so slow statements can name the repository method
+ * that issued them.
+ */
+public class SqlMonitoringPostProcessor implements BeanPostProcessor {
+
+    private final long slowThresholdNanos;
+
+    public SqlMonitoringPostProcessor(long slowThresholdNanos) {
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> {
+                        String repository = repositoryInformation.getRepositoryInterface().getSimpleName();
+                        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                            String previous = SqlStatementTracker.enterRepositoryMethod(repository + "." + invocation.getMethod().getName());
+                            try {
+                                return invocation.proceed();
+                            } finally {
+                                SqlStatementTracker.exitRepositoryMethod(previous);
+                            }
+                        });
+                    }));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+            return new InstrumentedDataSource(dataSource, slowThresholdNanos);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,67 @@
+package com.devstack.quickcart.order_service_api.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Thread-bound bookkeeping for executed SQL: the open {@link QueryScope}s and the
+ * repository method currently on the stack. Costs one ThreadLocal read per
+ * statement when nothing is open.
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<Deque<QueryScope>> SCOPES = new ThreadLocal<>();
+    private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+
+    private SqlStatementTracker() {
+    }
+
+    public static QueryScope open(String name) {
+        Deque<QueryScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        QueryScope scope = new QueryScope(name);
+        scopes.push(scope);
+        return scope;
+    }
+
+    static void close(QueryScope scope) {
+        Deque<QueryScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static void record(String sql, long nanos) {
+        Deque<QueryScope> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (QueryScope scope : scopes) {
+                scope.record(sql, nanos);
+            }
+        }
+    }
+
+    public static String currentRepositoryMethod() {
+        return REPOSITORY_METHOD.get();
+    }
+
+    static String enterRepositoryMethod(String method) {
+        String previous = REPOSITORY_METHOD.get();
+        REPOSITORY_METHOD.set(method);
+        return previous;
+    }
+
+    static void exitRepositoryMethod(String previous) {
+        if (previous == null) {
+            REPOSITORY_METHOD.remove();
+        } else {
+            REPOSITORY_METHOD.set(previous);
+        }
+    }
+}
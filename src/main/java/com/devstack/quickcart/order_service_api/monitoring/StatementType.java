@@ -0,0 +1,18 @@
+package com.devstack.quickcart.order_service_api.monitoring;
+
+public enum StatementType {
+    SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+    public static StatementType of(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        String trimmed = sql.stripLeading();
+        for (StatementType type : values()) {
+            if (type != OTHER && trimmed.regionMatches(true, 0, type.name(), 0, type.name().length())) {
+                return type;
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,27 @@
+package com.devstack.quickcart.order_service_api.repo;
+
+import com.devstack.quickcart.order_service_api.entity.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ArchivedOrderRepo extends JpaRepository<ArchivedOrder, String> {
+
+    interface ArchiveSize {
+        Long getOrderCount();
+        Long getRawBytes();
+        Long getStoredBytes();
+    }
+
+    @Query(nativeQuery = true, value = "SELECT COUNT(order_id) AS orderCount, COALESCE(SUM(raw_size), 0) AS rawBytes, " +
+            "COALESCE(SUM(LENGTH(payload)), 0) AS storedBytes FROM archived_customer_order")
+    public ArchiveSize archiveSize();
+
+    @Query(nativeQuery = true, value = "SELECT * FROM archived_customer_order WHERE order_id > ?1 ORDER BY order_id LIMIT ?2")
+    public List<ArchivedOrder> findPageAfter(String orderId, int limit);
+
+    @Query(nativeQuery = true, value = "SELECT order_id FROM archived_customer_order WHERE order_id > ?1 ORDER BY order_id LIMIT ?2")
+    public List<String> findIdsAfter(String orderId, int limit);
+
+}
@@ -1,22 +1,128 @@
 package com.devstack.quickcart.order_service_api.repo;
 
 import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
-import org.springframework.data.domain.Page;
+import com.devstack.quickcart.order_service_api.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 public interface CustomerOrderRepo extends JpaRepository<CustomerOrder, String> {
 
-    @Query(nativeQuery = true, value = "SELECT * FROM customer_order WHERE remark LIKE %?1%")
-    public Page<CustomerOrder> searchAll(String remark, Pageable pageable);
+    interface OrderKey {
+        String getOrderId();
+        Date getOrderDate();
+    }
 
-    @Query(nativeQuery = true, value = "SELECT COUNT(order_id) FROM customer_order WHERE remark LIKE %?1%")
+    // one customer_order row with its line snapshot, no joins
+    interface OrderRow {
+        String getOrderId();
+        Date getOrderDate();
+        String getUserId();
+        Double getTotalAmount();
+        String getRemark();
+        String getLineSnapshot();
+    }
+
+    String ORDER_ROW_COLUMNS = "order_id AS orderId, order_date AS orderDate, user_id AS userId, " +
+            "total_amount AS totalAmount, remark AS remark, line_snapshot AS lineSnapshot";
+
+    @Query(nativeQuery = true, value = "SELECT " + ORDER_ROW_COLUMNS + " FROM customer_order WHERE order_id = ?1 AND deleted_at IS NULL")
+    public Optional<OrderRow> findRowById(String orderId);
+
+    @Query(nativeQuery = true, value = "SELECT " + ORDER_ROW_COLUMNS + " FROM customer_order WHERE order_id IN (:ids) AND deleted_at IS NULL")
+    public List<OrderRow> findRowsByIds(@Param("ids") Collection<String> ids);
+
+    @Query(nativeQuery = true, value = "SELECT " + ORDER_ROW_COLUMNS + " FROM customer_order WHERE remark LIKE %?1% AND deleted_at IS NULL ORDER BY order_date DESC, order_id DESC")
+    public List<OrderRow> searchRows(String remark, Pageable pageable);
+
+    @Query(nativeQuery = true, value = "SELECT order_id FROM customer_order WHERE order_id > ?1 AND deleted_at IS NULL ORDER BY order_id LIMIT ?2")
+    public List<String> findIdsAfter(String orderId, int limit);
+
+    interface OrderIds {
+        String getOrderId();
+        String getIntentId();
+    }
+
+    @Query(nativeQuery = true, value = "SELECT order_id AS orderId, intent_id AS intentId FROM customer_order " +
+            "WHERE order_id > ?1 AND deleted_at IS NULL ORDER BY order_id LIMIT ?2")
+    public List<OrderIds> findIdPairsAfter(String orderId, int limit);
+
+    @Query(nativeQuery = true, value = "SELECT order_id AS orderId, intent_id AS intentId FROM customer_order WHERE order_date >= ?1 AND deleted_at IS NULL")
+    public List<OrderIds> findIdPairsSince(Date since);
+
+    // same order as searchAll, used to merge pages across shards
+    @Query(nativeQuery = true, value = "SELECT order_id AS orderId, order_date AS orderDate FROM customer_order " +
+            "WHERE remark LIKE %?1% AND deleted_at IS NULL ORDER BY order_date DESC, order_id DESC LIMIT ?2")
+    public List<OrderKey> searchKeys(String remark, int limit);
+
+    @Query(nativeQuery = true, value = "SELECT COUNT(order_id) FROM customer_order WHERE remark LIKE %?1% AND deleted_at IS NULL")
     public long searchCount(String remark);
 
-    @Query(nativeQuery = true, value = "SELECT * FROM customer_order WHERE intent_id=?1")
+    @Query(nativeQuery = true, value = "SELECT * FROM customer_order WHERE intent_id=?1 AND deleted_at IS NULL")
     public Optional<CustomerOrder> getContainingIntentId(String intentId);
 
+    @Query(nativeQuery = true, value = "SELECT order_id FROM customer_order WHERE intent_id=?1 AND deleted_at IS NULL")
+    public Optional<String> findOrderIdByIntentId(String intentId);
+
+    @Query(nativeQuery = true, value = "SELECT o.order_id FROM customer_order o JOIN order_status s ON o.order_status_id = s.status_id " +
+            "WHERE s.status IN (:statuses) AND o.order_date < :before AND o.deleted_at IS NULL ORDER BY o.order_date LIMIT :limit")
+    public List<String> findFinalizedOrderIds(@Param("statuses") Collection<String> statuses, @Param("before") Date before, @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = "SELECT o.order_id AS orderId, o.order_date AS orderDate FROM customer_order o " +
+            "JOIN order_status s ON o.order_status_id = s.status_id WHERE s.status = ?1 AND o.order_id > ?2 AND o.deleted_at IS NULL ORDER BY o.order_id LIMIT ?3")
+    public List<OrderKey> findKeysInStatusAfter(String status, String orderId, int limit);
+
+    @Query(nativeQuery = true, value = "SELECT o.order_id AS orderId, o.order_date AS orderDate FROM customer_order o " +
+            "JOIN order_status s ON o.order_status_id = s.status_id WHERE s.status = ?1 AND o.order_date >= ?2 AND o.deleted_at IS NULL")
+    public List<OrderKey> findKeysInStatusSince(String status, Date since);
+
+    // row locks only customer_order, so instances racing on the same order see each other's change
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM customer_order o WHERE o.orderId IN :ids AND o.orderStatus = :status AND o.orderDate <= :before")
+    public List<CustomerOrder> lockInStatusBefore(@Param("ids") Collection<String> ids, @Param("status") OrderStatus status, @Param("before") Date before);
+
+    // locking read of the current rows, so callers re-check status and age on what they are about to change
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM customer_order o WHERE o.orderId IN :ids")
+    public List<CustomerOrder> lockByIds(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT DISTINCT o FROM customer_order o JOIN FETCH o.orderStatus LEFT JOIN FETCH o.products WHERE o.orderId IN :ids")
+    public List<CustomerOrder> findAllWithProducts(@Param("ids") Collection<String> ids);
+
+    // only replaces the snapshot that was checked, so a concurrent status change is never overwritten
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE customer_order SET line_snapshot = :snapshot " +
+            "WHERE order_id = :id AND COALESCE(line_snapshot, '') = :seen")
+    public int replaceLineSnapshot(@Param("id") String orderId, @Param("seen") String seenSnapshot, @Param("snapshot") String snapshot);
+
+    interface PurgeBacklog {
+        Long getOrderCount();
+        Date getOldestDeletedAt();
+    }
+
+    // the flag only; lines stay untouched until OrderPurgeService removes the order
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE customer_order SET deleted_at = ?2 WHERE order_id = ?1 AND deleted_at IS NULL")
+    public int softDelete(String orderId, Date deletedAt);
+
+    @Query(nativeQuery = true, value = "SELECT order_id FROM customer_order WHERE deleted_at < ?1 ORDER BY deleted_at LIMIT ?2")
+    public List<String> findSoftDeletedIds(Date deletedBefore, int limit);
+
+    @Query(nativeQuery = true, value = "SELECT COUNT(order_id) AS orderCount, MIN(deleted_at) AS oldestDeletedAt " +
+            "FROM customer_order WHERE deleted_at IS NOT NULL")
+    public PurgeBacklog purgeBacklog();
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM customer_order WHERE order_id IN (:ids)")
+    public int deleteByOrderIds(@Param("ids") Collection<String> ids);
+
 }
@@ -0,0 +1,26 @@
+package com.devstack.quickcart.order_service_api.repo;
+
+import com.devstack.quickcart.order_service_api.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Date;
+
+public interface JobLeaseRepo extends JpaRepository<JobLease, String> {
+
+    // creates the lease row unclaimed; a no-op when it already exists
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO job_lease (job_name, locked_until, locked_by) VALUES (?1, ?2, '') " +
+            "ON DUPLICATE KEY UPDATE job_name = job_name")
+    public void ensureExists(String jobName, Date unclaimedSince);
+
+    // only one instance's UPDATE can match an expired lease, so a result of 1 means this instance holds it
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE job_lease SET locked_until = ?3, locked_by = ?2 WHERE job_name = ?1 AND locked_until <= ?4")
+    public int claim(String jobName, String owner, Date lockedUntil, Date now);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE job_lease SET locked_until = ?3 WHERE job_name = ?1 AND locked_by = ?2")
+    public int release(String jobName, String owner, Date now);
+}
@@ -2,6 +2,16 @@ package com.devstack.quickcart.order_service_api.repo;
 
 import com.devstack.quickcart.order_service_api.entity.OrderDetail;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 
 public interface OrderDetailRepo extends JpaRepository<OrderDetail, String> {
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM order_detail WHERE customer_order_id IN (:ids)")
+    public int deleteByOrderIds(@Param("ids") Collection<String> ids);
+
 }
@@ -0,0 +1,59 @@
+package com.devstack.quickcart.order_service_api.repo;
+
+import com.devstack.quickcart.order_service_api.entity.OrderRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OrderRollupRepo extends JpaRepository<OrderRollup, String> {
+
+    interface RollupRow {
+        Object getDimensionKey();
+        Long getOrderCount();
+        Long getQuantity();
+        Double getAmount();
+    }
+
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO order_rollup (rollup_id, dimension, dimension_key, order_count, quantity, amount) " +
+            "VALUES (?1, ?2, ?3, ?4, ?5, ?6) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + ?4, quantity = quantity + ?5, amount = amount + ?6")
+    public void increment(String rollupId, String dimension, String dimensionKey, long orderCount, long quantity, double amount);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO order_rollup (rollup_id, dimension, dimension_key, order_count, quantity, amount) " +
+            "VALUES (?1, ?2, ?3, ?4, ?5, ?6) " +
+            "ON DUPLICATE KEY UPDATE order_count = ?4, quantity = ?5, amount = ?6")
+    public void overwrite(String rollupId, String dimension, String dimensionKey, long orderCount, long quantity, double amount);
+
+    @Query("SELECT r.rollupId FROM order_rollup r")
+    public List<String> findAllIds();
+
+    // live and archived orders
+    @Query(nativeQuery = true, value = "SELECT t.day_key AS dimensionKey, SUM(t.order_count) AS orderCount, 0 AS quantity, SUM(t.amount) AS amount FROM (" +
+            "SELECT CAST(order_date AS DATE) AS day_key, COUNT(order_id) AS order_count, SUM(total_amount) AS amount " +
+            "FROM customer_order WHERE deleted_at IS NULL GROUP BY CAST(order_date AS DATE) " +
+            "UNION ALL " +
+            "SELECT CAST(order_date AS DATE), COUNT(order_id), SUM(total_amount) " +
+            "FROM archived_customer_order GROUP BY CAST(order_date AS DATE)" +
+            ") t GROUP BY t.day_key")
+    public List<RollupRow> aggregateByDay();
+
+    // live and archived orders
+    @Query(nativeQuery = true, value = "SELECT t.status AS dimensionKey, SUM(t.order_count) AS orderCount, 0 AS quantity, SUM(t.amount) AS amount FROM (" +
+            "SELECT s.status AS status, COUNT(o.order_id) AS order_count, SUM(o.total_amount) AS amount FROM customer_order o " +
+            "JOIN order_status s ON o.order_status_id = s.status_id WHERE o.deleted_at IS NULL GROUP BY s.status " +
+            "UNION ALL " +
+            "SELECT status, COUNT(order_id), SUM(total_amount) FROM archived_customer_order GROUP BY status" +
+            ") t GROUP BY t.status")
+    public List<RollupRow> aggregateByStatus();
+
+    // live orders only; archived line items are folded in by the rebuild job
+    @Query(nativeQuery = true, value = "SELECT d.product_id AS dimensionKey, COUNT(DISTINCT d.customer_order_id) AS orderCount, " +
+            "SUM(d.qty) AS quantity, SUM(d.unit_price * d.qty - d.discount) AS amount FROM order_detail d " +
+            "JOIN customer_order o ON d.customer_order_id = o.order_id WHERE o.deleted_at IS NULL GROUP BY d.product_id")
+    public List<RollupRow> aggregateByProduct();
+
+}
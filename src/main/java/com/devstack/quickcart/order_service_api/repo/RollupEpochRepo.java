@@ -0,0 +1,19 @@
+package com.devstack.quickcart.order_service_api.repo;
+
+import com.devstack.quickcart.order_service_api.entity.RollupEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface RollupEpochRepo extends JpaRepository<RollupEpoch, String> {
+
+    // moves the cut forward, creating the row on the first rebuild
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO rollup_epoch (epoch_name, rebuilt_from) VALUES (?1, ?2) " +
+            "ON DUPLICATE KEY UPDATE rebuilt_from = ?2")
+    public void publish(String epochName, long rebuiltFrom);
+
+    // flushes hold this row while they apply deltas, so a new cut is never published in the middle of one
+    @Query(nativeQuery = true, value = "SELECT rebuilt_from FROM rollup_epoch WHERE epoch_name = ?1 FOR UPDATE")
+    public Long lockRebuiltFrom(String epochName);
+}
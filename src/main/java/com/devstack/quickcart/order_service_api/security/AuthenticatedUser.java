@@ -0,0 +1,26 @@
+package com.devstack.quickcart.order_service_api.security;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Immutable caller identity, verified once per request by {@link JwtAuthenticationFilter}.
+ */
+@Getter
+public final class AuthenticatedUser {
+    private final String subject;
+    private final String email;
+    private final Set<String> roles;
+
+    public AuthenticatedUser(String subject, String email, Collection<String> roles) {
+        this.subject = subject;
+        this.email = email;
+        this.roles = roles == null ? Set.of() : Set.copyOf(roles);
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+}
@@ -0,0 +1,150 @@
+package com.devstack.quickcart.order_service_api.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Signing keys from the identity provider's JWKS endpoint. Keys are refreshed in
+ * the background on a schedule, and an unknown {@code kid} only queues an early
+ * refresh, so token verification never waits on the network. The static
+ * {@code public.key.string} is used when no JWKS key matches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwksKeyProvider {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${security.jwks.uri:}")
+    private String jwksUri;
+
+    @Value("${security.jwks.refresh-interval-ms:300000}")
+    private long refreshIntervalMs;
+
+    @Value("${security.jwks.min-refresh-interval-ms:10000}")
+    private long minRefreshIntervalMs;
+
+    @Value("${public.key.string:}")
+    private String publicKeyString;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshMillis;
+    private PublicKey fallbackKey;
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    public void init() throws Exception {
+        if (!publicKeyString.isBlank()) {
+            byte[] keyBytes = Base64.getDecoder().decode(publicKeyString);
+            fallbackKey = KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(keyBytes));
+        }
+        if (jwksUri.isBlank()) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jwks-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresh();
+        refresher.scheduleWithFixedDelay(this::refresh, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    public PublicKey resolve(String keyId) {
+        Map<String, PublicKey> current = keys;
+        if (keyId != null) {
+            PublicKey key = current.get(keyId);
+            if (key != null) {
+                return key;
+            }
+            queueRefresh();
+        } else if (current.size() == 1) {
+            return current.values().iterator().next();
+        }
+        if (fallbackKey != null) {
+            return fallbackKey;
+        }
+        throw new JwtException("No signing key available for kid " + keyId);
+    }
+
+    private void queueRefresh() {
+        if (refresher == null || System.currentTimeMillis() - lastRefreshMillis < minRefreshIntervalMs) {
+            return;
+        }
+        if (refreshQueued.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                refreshQueued.set(false);
+                refresh();
+            });
+        }
+    }
+
+    private void refresh() {
+        lastRefreshMillis = System.currentTimeMillis();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(jwksUri)).timeout(Duration.ofSeconds(10)).GET().build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("JWKS refresh from {} returned HTTP {}", jwksUri, response.statusCode());
+                return;
+            }
+            Map<String, PublicKey> loaded = parse(response.body());
+            if (!loaded.isEmpty()) {
+                keys = Map.copyOf(loaded);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("JWKS refresh from {} failed, keeping {} cached keys: {}", jwksUri, keys.size(), e.getMessage());
+        }
+    }
+
+    private Map<String, PublicKey> parse(String body) throws Exception {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        for (JsonNode jwk : objectMapper.readTree(body).path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || "enc".equals(jwk.path("use").asText())) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+            BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+            parsed.put(jwk.path("kid").asText(), keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+        }
+        return parsed;
+    }
+}
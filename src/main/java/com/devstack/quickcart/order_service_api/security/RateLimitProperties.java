@@ -0,0 +1,35 @@
+package com.devstack.quickcart.order_service_api.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int maxTrackedUsers = 100_000;
+    private Limit defaults = new Limit(10, 5);
+    private Map<String, Limit> roles = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private double requestsPerMinute;
+        private int burst;
+
+        public Limit() {
+        }
+
+        public Limit(double requestsPerMinute, int burst) {
+            this.requestsPerMinute = requestsPerMinute;
+            this.burst = burst;
+        }
+    }
+}
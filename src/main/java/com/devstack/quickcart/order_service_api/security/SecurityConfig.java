@@ -0,0 +1,53 @@
+package com.devstack.quickcart.order_service_api.security;
+
+import com.devstack.quickcart.order_service_api.service.impl.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig {
+
+    @Value("${security.roles.business:user,admin}")
+    private String[] businessRoles;
+
+    @Value("${security.roles.admin:admin}")
+    private String[] adminRoles;
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtService jwtService, UserRateLimiter userRateLimiter,
+                                                   ObjectMapper objectMapper) throws Exception {
+        // calls that cost a Stripe round-trip on behalf of a user; the webhook is Stripe's own and carries no user
+        RequestMatcher rateLimitedRoutes = new AntPathRequestMatcher("/api/v1/customer-orders/business", "POST");
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService, objectMapper), UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(userRateLimiter, rateLimitedRoutes, objectMapper), JwtAuthenticationFilter.class)
+                .exceptionHandling(e -> e.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                        .requestMatchers("/api/v1/customer-orders/visitors/**").permitAll()
+                        .requestMatchers("/api/v1/payments/webhook").permitAll()
+                        .requestMatchers("/api/v1/customer-orders/business/**").hasAnyRole(businessRoles)
+                        .requestMatchers("/api/v1/order-analytics/**", "/api/v1/order-archive/**", "/api/v1/order-lookup-filter/**", "/api/v1/order-audit/**", "/api/v1/payment-transport/**", "/api/v1/order-expiry/**", "/api/v1/order-purge/**", "/api/v1/order-search-cache/**", "/api/v1/flight-recorder/**").hasAnyRole(adminRoles)
+                        .anyRequest().authenticated()
+                );
+        return http.build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.devstack.quickcart.order_service_api.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free per-user token buckets. Each bucket is a single {@link AtomicLong}
+ * holding the time at which it will be full again (GCRA form of a token bucket),
+ * updated with a CAS loop. A bucket whose refill time has passed is
+ * indistinguishable from a new one, so eviction drops those first and the map
+ * stays bounded by {@code rate-limit.max-tracked-users}.
+ */
+@Component
+public class UserRateLimiter {
+
+    private final RateLimitProperties properties;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    @Autowired
+    public UserRateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    UserRateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return 0 when the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(AuthenticatedUser user) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        Bucket bucket = buckets.get(user.getEmail());
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(user.getEmail(), k -> new Bucket(limitFor(user)));
+            if (buckets.size() > properties.getMaxTrackedUsers()) {
+                evictIdle();
+            }
+        }
+        return bucket.tryAcquire(nanoClock.getAsLong());
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = nanoClock.getAsLong();
+            buckets.values().removeIf(bucket -> bucket.isIdle(now));
+            // every tracked user is mid-burst: shed arbitrary buckets, which only makes limiting more lenient
+            int excess = buckets.size() - properties.getMaxTrackedUsers();
+            var it = buckets.keySet().iterator();
+            while (excess-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    public int trackedUsers() {
+        return buckets.size();
+    }
+
+    private RateLimitProperties.Limit limitFor(AuthenticatedUser user) {
+        RateLimitProperties.Limit best = properties.getDefaults();
+        for (String role : user.getRoles()) {
+            RateLimitProperties.Limit limit = properties.getRoles().get(role);
+            if (limit != null && limit.getRequestsPerMinute() > best.getRequestsPerMinute()) {
+                best = limit;
+            }
+        }
+        return best;
+    }
+
+    private static final class Bucket {
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+        private Bucket(RateLimitProperties.Limit limit) {
+            this.emissionIntervalNanos = (long) (60_000_000_000L / Math.max(limit.getRequestsPerMinute(), 0.001));
+            this.burstToleranceNanos = emissionIntervalNanos * Math.max(limit.getBurst() - 1, 0);
+        }
+
+        private long tryAcquire(long now) {
+            while (true) {
+                long current = fullAt.get();
+                long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                long next = base + emissionIntervalNanos;
+                long wait = next - now - burstToleranceNanos - emissionIntervalNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        private boolean isIdle(long now) {
+            long current = fullAt.get();
+            return current == Long.MIN_VALUE || current - now <= 0;
+        }
+    }
+}
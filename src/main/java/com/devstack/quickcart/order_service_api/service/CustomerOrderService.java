@@ -4,9 +4,13 @@ import com.devstack.quickcart.order_service_api.dto.request.CustomerOrderRequest
 import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
 import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
 import com.devstack.quickcart.order_service_api.dto.response.paginate.CustomerOrderPaginateDto;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+
+import java.util.Date;
+import java.util.List;
 
 public interface CustomerOrderService {
-    public PaymentResponseDto createOrder(CustomerOrderRequestDto requestDto, String tokenHeader);
+    public PaymentResponseDto createOrder(CustomerOrderRequestDto requestDto, AuthenticatedUser user);
     public void confirmPaymentAndUpdateOrder(String paymentIntentId);
     public void updateOrder(CustomerOrderRequestDto requestDto, String orderId);
     public void manageRemark(String remark, String orderId);
@@ -15,4 +19,8 @@ public interface CustomerOrderService {
     public void handleFailedPayment(String paymentIntentId, String failureReason);
     public void deleteById(String orderId);
     public CustomerOrderPaginateDto searchAll(String searchText, int page, int size);
+    public List<ExpiredOrder> expirePendingOrders(List<String> orderIds, Date createdBefore);
+
+    record ExpiredOrder(String orderId, String intentId) {
+    }
 }
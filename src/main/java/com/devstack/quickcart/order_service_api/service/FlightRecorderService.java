@@ -0,0 +1,11 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.response.FlightRecordingStatusResponseDto;
+
+import java.nio.file.Path;
+
+public interface FlightRecorderService {
+    public FlightRecordingStatusResponseDto start(Integer durationSeconds, Integer maxSizeMb);
+    public Path stop();
+    public FlightRecordingStatusResponseDto getStatus();
+}
@@ -0,0 +1,6 @@
+package com.devstack.quickcart.order_service_api.service;
+
+public interface JobLeaseService {
+    public boolean tryAcquire(String jobName, long leaseMs);
+    public void release(String jobName);
+}
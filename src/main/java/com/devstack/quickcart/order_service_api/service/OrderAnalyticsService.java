@@ -0,0 +1,23 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.DailyRevenueResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.ProductSalesResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.StatusCountResponseDto;
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+public interface OrderAnalyticsService {
+    public void recordOrderCreated(CustomerOrder order);
+    public void recordOrderDeleted(CustomerOrderResponseDto order);
+    public void recordStatusChange(String fromStatus, String toStatus, double amount);
+    public void recordOrderRevalued(Date previousDate, double previousAmount, CustomerOrder order);
+    public List<DailyRevenueResponseDto> revenuePerDay(LocalDate from, LocalDate to);
+    public List<StatusCountResponseDto> ordersPerStatus();
+    public List<ProductSalesResponseDto> topProducts(int limit);
+    public void flush();
+    public void rebuild();
+}
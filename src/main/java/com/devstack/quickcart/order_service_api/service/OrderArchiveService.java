@@ -0,0 +1,15 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.response.ArchiveStatsResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface OrderArchiveService {
+    public int archiveFinalizedOrders();
+    public Optional<CustomerOrderResponseDto> findArchivedOrder(String orderId);
+    public void forEachArchivedOrder(Consumer<CustomerOrderResponseDto> consumer);
+    public void recordLiveLookup(long nanos);
+    public ArchiveStatsResponseDto getStats();
+}
@@ -0,0 +1,11 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.audit.AuditEventType;
+import com.devstack.quickcart.order_service_api.audit.AuditRecord;
+
+import java.util.List;
+
+public interface OrderAuditService {
+    public void record(AuditEventType type, String orderId, String before, String after, String detail, double amount);
+    public List<AuditRecord> findByOrderId(String orderId);
+}
@@ -0,0 +1,13 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.response.OrderExpiryStatsResponseDto;
+
+import java.util.Date;
+
+public interface OrderExpiryService {
+    public void onStatusChanged(String orderId, String status, Date orderDate);
+    public void onDeleted(String orderId);
+    public int expireDueOrders();
+    public void rebuild();
+    public OrderExpiryStatsResponseDto getStats();
+}
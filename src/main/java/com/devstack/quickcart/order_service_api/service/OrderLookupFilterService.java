@@ -0,0 +1,14 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.response.LookupFilterStatsResponseDto;
+
+public interface OrderLookupFilterService {
+    public boolean mightContainOrder(String orderId);
+    public boolean mightContainIntent(String intentId);
+    public void recordOrderCreated(String orderId, String intentId);
+    public void recordOrderDeleted(String orderId);
+    public void recordFalsePositive();
+    public void refresh();
+    public void rebuild();
+    public LookupFilterStatsResponseDto getStats();
+}
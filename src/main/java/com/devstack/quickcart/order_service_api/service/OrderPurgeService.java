@@ -0,0 +1,8 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.response.PurgeStatsResponseDto;
+
+public interface OrderPurgeService {
+    public int purgeDeletedOrders();
+    public PurgeStatsResponseDto getStats();
+}
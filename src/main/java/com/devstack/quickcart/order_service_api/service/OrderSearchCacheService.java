@@ -0,0 +1,13 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.response.SearchCacheStatsResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.paginate.CustomerOrderPaginateDto;
+
+import java.util.function.Supplier;
+
+public interface OrderSearchCacheService {
+    public CustomerOrderPaginateDto get(String searchText, int page, int size, Supplier<CustomerOrderPaginateDto> loader);
+    public void recordWrite();
+    public void clear();
+    public SearchCacheStatsResponseDto getStats();
+}
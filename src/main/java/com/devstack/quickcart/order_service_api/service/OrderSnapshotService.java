@@ -0,0 +1,5 @@
+package com.devstack.quickcart.order_service_api.service;
+
+public interface OrderSnapshotService {
+    public int verifySnapshots();
+}
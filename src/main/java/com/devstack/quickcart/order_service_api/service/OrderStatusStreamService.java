@@ -0,0 +1,13 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface OrderStatusStreamService {
+    public SseEmitter subscribeToOrder(String orderId);
+    public SseEmitter subscribeToUser(AuthenticatedUser user);
+    public void publishUpdate(CustomerOrder order);
+    public void publishDelete(CustomerOrderResponseDto order);
+}
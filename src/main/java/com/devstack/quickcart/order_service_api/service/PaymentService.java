@@ -2,11 +2,13 @@ package com.devstack.quickcart.order_service_api.service;
 
 import com.devstack.quickcart.order_service_api.dto.request.PaymentRequestDto;
 import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.StripeTransportStatsResponseDto;
 
 public interface PaymentService {
     PaymentResponseDto createPaymentIntent(PaymentRequestDto paymentRequest, double amount);
     PaymentResponseDto confirmPayment(String paymentIntentId);
     PaymentResponseDto cancelPayment(String paymentIntentId);
     PaymentResponseDto getPaymentStatus(String paymentIntentId);
+    StripeTransportStatsResponseDto getTransportStats();
     void handleWebhook(String payload, String signature);
 }
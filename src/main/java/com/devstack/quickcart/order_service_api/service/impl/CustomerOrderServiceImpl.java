@@ -1,5 +1,6 @@
 package com.devstack.quickcart.order_service_api.service.impl;
 
+import com.devstack.quickcart.order_service_api.audit.AuditEventType;
 import com.devstack.quickcart.order_service_api.dto.request.CustomerOrderRequestDto;
 import com.devstack.quickcart.order_service_api.dto.request.OrderDetailRequestDto;
 import com.devstack.quickcart.order_service_api.dto.request.PaymentRequestDto;
@@ -11,17 +12,28 @@ import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
 import com.devstack.quickcart.order_service_api.entity.OrderDetail;
 import com.devstack.quickcart.order_service_api.entity.OrderStatus;
 import com.devstack.quickcart.order_service_api.exception.EntryNotFoundException;
+import com.devstack.quickcart.order_service_api.jfr.OrderCreatePhaseEvent;
 import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
 import com.devstack.quickcart.order_service_api.repo.OrderDetailRepo;
 import com.devstack.quickcart.order_service_api.repo.OrderStatusRepo;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
 import com.devstack.quickcart.order_service_api.service.CustomerOrderService;
+import com.devstack.quickcart.order_service_api.service.OrderAnalyticsService;
+import com.devstack.quickcart.order_service_api.service.OrderArchiveService;
+import com.devstack.quickcart.order_service_api.service.OrderAuditService;
+import com.devstack.quickcart.order_service_api.service.OrderExpiryService;
+import com.devstack.quickcart.order_service_api.service.OrderLookupFilterService;
+import com.devstack.quickcart.order_service_api.service.OrderSearchCacheService;
+import com.devstack.quickcart.order_service_api.service.OrderStatusStreamService;
 import com.devstack.quickcart.order_service_api.service.PaymentService;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
+import com.devstack.quickcart.order_service_api.sharding.ShardContext;
+import com.devstack.quickcart.order_service_api.sharding.ShardRouter;
+import com.devstack.quickcart.order_service_api.util.LineSnapshotCodec;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.query.Order;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -36,38 +48,57 @@ public class CustomerOrderServiceImpl implements CustomerOrderService {
     private final CustomerOrderRepo customerOrderRepo;
     private final OrderStatusRepo orderStatusRepo;
     private final OrderDetailRepo orderDetailRepo;
-    private final JwtService jwtService;
     private final PaymentService paymentService;
+    private final OrderAnalyticsService orderAnalyticsService;
+    private final OrderStatusStreamService orderStatusStreamService;
+    private final OrderArchiveService orderArchiveService;
+    private final OrderLookupFilterService orderLookupFilterService;
+    private final OrderAuditService orderAuditService;
+    private final OrderExpiryService orderExpiryService;
+    private final OrderSearchCacheService orderSearchCacheService;
+    private final ShardRouter shardRouter;
+    private final LineSnapshotCodec lineSnapshotCodec;
 
     @Transactional
     @Override
-    public PaymentResponseDto  createOrder(CustomerOrderRequestDto requestDto, String tokenHeader) {
+    public PaymentResponseDto  createOrder(CustomerOrderRequestDto requestDto, AuthenticatedUser user) {
         PaymentResponseDto paymentResponse;
+        OrderCreatePhaseEvent phase = OrderCreatePhaseEvent.start("validate");
         try {
-            // Extract email from token and get user information
-            String userId = getUserEmailFromToken(tokenHeader);
+            // Caller was verified once by JwtAuthenticationFilter
+            String userId = user.getEmail();
 
             // Validate order request
             validateCreateOrderRequest(requestDto);
 
+            // The user's shard holds the order and its lines
+            int shard = shardRouter.shardForUser(userId);
+            ShardContext.pin(shard);
+
             // Get PENDING order status
+            phase = phase.next("status-lookup");
             OrderStatus orderStatus = orderStatusRepo.findByStatus("PENDING")
                     .orElseThrow(() -> new EntryNotFoundException("Order Status Not Found. Please contact admin to resolve this issue"));
 
-            // Generate unique order ID with better format
-            String orderId = generateOrderId();
-
             // Calculate total amount from order details for security
             double calculatedTotal = calculateOrderTotal(requestDto.getOrderDetails());
 
+            phase = phase.next("payment-intent");
             paymentResponse = paymentService.createPaymentIntent(
                     new PaymentRequestDto("CARD", "USD", userId, "", true)
                     , calculatedTotal);
 
+            // Generate the order ID only once Stripe has answered, and stamp the order
+            // with the ID's own timestamp: the lookup filter's coverage is judged from the
+            // ID while its refresh scans order_date, so both must name the same instant
+            String orderId = shardRouter.newOrderId(shard);
+            phase.setOrderId(orderId);
+
             // Create customer order
+            phase = phase.next("persist");
             CustomerOrder customerOrder = new CustomerOrder();
             customerOrder.setOrderId(orderId);
-            customerOrder.setOrderDate(new Date());
+            customerOrder.setOrderDate(new Date(shardRouter.createdAtMillis(orderId)));
             customerOrder.setRemark("");
             customerOrder.setIntentId(paymentResponse.getPaymentIntentId());
             customerOrder.setTotalAmount(calculatedTotal); // Use calculated total for security
@@ -76,7 +107,7 @@ public class CustomerOrderServiceImpl implements CustomerOrderService {
             Set<OrderDetail> orderDetails = new HashSet<>();
             for (OrderDetailRequestDto detailDto : requestDto.getOrderDetails()) {
                 OrderDetail orderDetail = OrderDetail.builder()
-                        .detailId(UUID.randomUUID().toString()) // Add detail ID
+                        .detailId(UUID.randomUUID().toString())
                         .qty(detailDto.getQty())
                         .productId(detailDto.getProductId())
                         .customerOrder(customerOrder)
@@ -87,9 +118,17 @@ public class CustomerOrderServiceImpl implements CustomerOrderService {
             }
 
             customerOrder.setProducts(orderDetails);
+            customerOrder.setLineSnapshot(lineSnapshotCodec.encode(orderStatus.getStatus(), orderDetails));
             customerOrderRepo.save(customerOrder);
+            orderAnalyticsService.recordOrderCreated(customerOrder);
+            orderLookupFilterService.recordOrderCreated(customerOrder.getOrderId(), customerOrder.getIntentId());
+            orderAuditService.record(AuditEventType.ORDER_CREATED, orderId, null, orderStatus.getStatus(), customerOrder.getIntentId(), calculatedTotal);
+            orderExpiryService.onStatusChanged(orderId, orderStatus.getStatus(), customerOrder.getOrderDate());
+            orderSearchCacheService.recordWrite();
+            phase.commit();
 
         } catch (Exception e) {
+            phase.fail();
             throw new RuntimeException("Failed to create order: " + e.getMessage(), e);
         }
 
@@ -99,12 +138,18 @@ public class CustomerOrderServiceImpl implements CustomerOrderService {
     @Override
     public void confirmPaymentAndUpdateOrder(String paymentIntentId) {
         try {
+            // Don't spend a Stripe round trip on an intent no order ever held
+            if (!orderLookupFilterService.mightContainIntent(paymentIntentId)) {
+                throw new EntryNotFoundException("Order not found for payment intent: " + paymentIntentId);
+            }
+
             // Confirm payment with Stripe
             PaymentResponseDto paymentResponse = paymentService.confirmPayment(paymentIntentId);
 
             // Find order by payment intent ID (you'll need to modify your repository)
+            pinShardOfIntent(paymentIntentId);
             CustomerOrder order = customerOrderRepo.getContainingIntentId(paymentIntentId)
-                    .orElseThrow(() -> new EntryNotFoundException("Order not found for payment intent: " + paymentIntentId));
+                    .orElseThrow(() -> intentNotFound(paymentIntentId));
 
             // Update order status based on payment status
             String orderStatusName;
@@ -125,10 +170,17 @@ public class CustomerOrderServiceImpl implements CustomerOrderService {
             OrderStatus newStatus = orderStatusRepo.findByStatus(orderStatusName)
                     .orElseThrow(() -> new EntryNotFoundException("Order status not found: " + orderStatusName));
 
+            orderAnalyticsService.recordStatusChange(order.getOrderStatus().getStatus(), newStatus.getStatus(), order.getTotalAmount());
+            orderAuditService.record(AuditEventType.PAYMENT_CONFIRMED, order.getOrderId(), order.getOrderStatus().getStatus(),
+                    newStatus.getStatus(), paymentResponse.getStatus(), order.getTotalAmount());
             order.setOrderStatus(newStatus);
+            refreshSnapshotStatus(order);
             order.setRemark(order.getRemark() + " | Payment Status: " + paymentResponse.getStatus());
 
             customerOrderRepo.save(order);
+            orderExpiryService.onStatusChanged(order.getOrderId(), newStatus.getStatus(), order.getOrderDate());
+            orderSearchCacheService.recordWrite();
+            orderStatusStreamService.publishUpdate(order);
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to confirm payment and update order: " + e.getMessage(), e);
@@ -136,20 +188,6 @@ public class CustomerOrderServiceImpl implements CustomerOrderService {
     }
 
 
-    // Helper method to extract user ID from token
-    private String getUserEmailFromToken(String tokenHeader) {
-        try {
-            // Validate token header
-            if (tokenHeader == null || tokenHeader.trim().isEmpty()) {
-                throw new IllegalArgumentException("Authorization token is required");
-            }
-            // Extract email from JWT token
-            return jwtService.getEmail(tokenHeader);
-
-        } catch (Exception e) {
-            throw new IllegalStateException("Invalid or expired token", e);
-        }
-    }
     // Validation method for create order request
     private void validateCreateOrderRequest(CustomerOrderRequestDto requestDto) {
         if (requestDto == null) {
@@ -198,62 +236,128 @@ public class CustomerOrderServiceImpl implements CustomerOrderService {
         return cost;
     }
 
-    // Method to generate readable order ID
-    private String generateOrderId() {
-        return "ORD-" + System.currentTimeMillis() + "-" +
-                UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    // Webhooks only know the intent id, so ask every shard which order holds it
+    private void pinShardOfIntent(String paymentIntentId) {
+        if (shardRouter.getShardCount() == 1) {
+            ShardContext.pin(0);
+            return;
+        }
+        String orderId = shardRouter.scatter(shard -> customerOrderRepo.findOrderIdByIntentId(paymentIntentId).orElse(null))
+                .stream().filter(Objects::nonNull).findFirst()
+                .orElseThrow(() -> intentNotFound(paymentIntentId));
+        ShardContext.pin(shardRouter.shardOf(orderId));
+    }
+
+    // Ids the lookup filter has never seen are answered without touching a shard
+    private void pinShardOfOrder(String orderId) {
+        if (!orderLookupFilterService.mightContainOrder(orderId)) {
+            throw new EntryNotFoundException(String.format("Order not found with %s", orderId));
+        }
+        ShardContext.pin(shardRouter.shardOf(orderId));
+    }
+
+    private EntryNotFoundException orderNotFound(String orderId) {
+        orderLookupFilterService.recordFalsePositive();
+        return new EntryNotFoundException(String.format("Order not found with %s", orderId));
+    }
+
+    private EntryNotFoundException intentNotFound(String paymentIntentId) {
+        orderLookupFilterService.recordFalsePositive();
+        return new EntryNotFoundException("Order not found for payment intent: " + paymentIntentId);
     }
 
 
     @Override
     public void updateOrder(CustomerOrderRequestDto requestDto, String orderId) {
+        pinShardOfOrder(orderId);
         CustomerOrder customerOrder =
-                customerOrderRepo.findById(orderId).orElseThrow(() -> new EntryNotFoundException(String.format("Order not found with %s", orderId)));
+                customerOrderRepo.findById(orderId).orElseThrow(() -> orderNotFound(orderId));
+        Date previousDate = customerOrder.getOrderDate();
+        double previousAmount = customerOrder.getTotalAmount();
         customerOrder.setOrderDate(new Date());
         customerOrder.setTotalAmount(requestDto.getTotalAmount());
         customerOrderRepo.save(customerOrder);
+        orderAnalyticsService.recordOrderRevalued(previousDate, previousAmount, customerOrder);
+        orderAuditService.record(AuditEventType.ORDER_UPDATED, orderId, String.valueOf(previousAmount),
+                String.valueOf(customerOrder.getTotalAmount()), null, customerOrder.getTotalAmount());
+        // a new order date restarts the payment window
+        orderExpiryService.onStatusChanged(orderId, customerOrder.getOrderStatus().getStatus(), customerOrder.getOrderDate());
+        orderSearchCacheService.recordWrite();
     }
 
     @Override
     public void manageRemark(String remark, String orderId) {
+        pinShardOfOrder(orderId);
         CustomerOrder customerOrder =
-                customerOrderRepo.findById(orderId).orElseThrow(() -> new EntryNotFoundException(String.format("Order not found with %s", orderId)));
+                customerOrderRepo.findById(orderId).orElseThrow(() -> orderNotFound(orderId));
+        orderAuditService.record(AuditEventType.REMARK_CHANGED, orderId, customerOrder.getRemark(), remark, null, customerOrder.getTotalAmount());
         customerOrder.setRemark(remark);
         customerOrderRepo.save(customerOrder);
+        orderSearchCacheService.recordWrite();
+        orderStatusStreamService.publishUpdate(customerOrder);
     }
 
     @Override
     public void manageStatus(String status, String orderId) {
+        pinShardOfOrder(orderId);
         CustomerOrder customerOrder =
-                customerOrderRepo.findById(orderId).orElseThrow(() -> new RuntimeException(String.format("Order not found with %s", orderId)));
+                customerOrderRepo.findById(orderId).orElseThrow(() -> orderNotFound(orderId));
         OrderStatus orderStatus = orderStatusRepo.findByStatus(status).orElseThrow(() -> new EntryNotFoundException("Order Status Not Found. so you can't place an order please contact admin"));
+        orderAnalyticsService.recordStatusChange(customerOrder.getOrderStatus().getStatus(), orderStatus.getStatus(), customerOrder.getTotalAmount());
+        orderAuditService.record(AuditEventType.STATUS_CHANGED, orderId, customerOrder.getOrderStatus().getStatus(),
+                orderStatus.getStatus(), null, customerOrder.getTotalAmount());
         customerOrder.setOrderStatus(orderStatus);
+        refreshSnapshotStatus(customerOrder);
         customerOrderRepo.save(customerOrder);
+        orderExpiryService.onStatusChanged(orderId, orderStatus.getStatus(), customerOrder.getOrderDate());
+        orderSearchCacheService.recordWrite();
+        orderStatusStreamService.publishUpdate(customerOrder);
     }
 
 
     @Override
     public CustomerOrderResponseDto findOrderById(String orderId) {
-        CustomerOrder customerOrder =
-                customerOrderRepo.findById(orderId).orElseThrow(() -> new EntryNotFoundException(String.format("Order not found with %s", orderId)));
-        return toCustomerOrderResponseDto(customerOrder);
+        pinShardOfOrder(orderId);
+        long started = System.nanoTime();
+        List<CustomerOrderResponseDto> live = customerOrderRepo.findRowById(orderId)
+                .map(row -> toCustomerOrderResponseDtos(List.of(row)))
+                .orElse(List.of());
+        if (!live.isEmpty()) {
+            orderArchiveService.recordLiveLookup(System.nanoTime() - started);
+            return live.get(0);
+        }
+        // finalized orders may have been moved to the archive
+        return orderArchiveService.findArchivedOrder(orderId)
+                .orElseThrow(() -> orderNotFound(orderId));
     }
 
     @Override
     public void handleFailedPayment(String paymentIntentId, String failureReason) {
         try {
+            if (!orderLookupFilterService.mightContainIntent(paymentIntentId)) {
+                throw new EntryNotFoundException("Order not found for payment intent: " + paymentIntentId);
+            }
+
             // Find order by payment intent ID
+            pinShardOfIntent(paymentIntentId);
             CustomerOrder order = customerOrderRepo.getContainingIntentId(paymentIntentId)
-                    .orElseThrow(() -> new EntryNotFoundException("Order not found for payment intent: " + paymentIntentId));
+                    .orElseThrow(() -> intentNotFound(paymentIntentId));
 
             // Update order status to payment failed
             OrderStatus failedStatus = orderStatusRepo.findByStatus("PAYMENT_FAILED")
                     .orElseThrow(() -> new EntryNotFoundException("Payment failed status not found"));
 
+            orderAnalyticsService.recordStatusChange(order.getOrderStatus().getStatus(), failedStatus.getStatus(), order.getTotalAmount());
+            orderAuditService.record(AuditEventType.PAYMENT_FAILED, order.getOrderId(), order.getOrderStatus().getStatus(),
+                    failedStatus.getStatus(), failureReason, order.getTotalAmount());
             order.setOrderStatus(failedStatus);
+            refreshSnapshotStatus(order);
             order.setRemark(order.getRemark() + " | Payment Failed: " + failureReason);
 
             customerOrderRepo.save(order);
+            orderExpiryService.onStatusChanged(order.getOrderId(), failedStatus.getStatus(), order.getOrderDate());
+            orderSearchCacheService.recordWrite();
+            orderStatusStreamService.publishUpdate(order);
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to handle payment failure: " + e.getMessage(), e);
@@ -262,24 +366,166 @@ public class CustomerOrderServiceImpl implements CustomerOrderService {
 
     @Override
     public void deleteById(String orderId) {
-        CustomerOrder customerOrder =
-                customerOrderRepo.findById(orderId).orElseThrow(() -> new EntryNotFoundException(String.format("Order not found with %s", orderId)));
-        customerOrderRepo.delete(customerOrder);
+        pinShardOfOrder(orderId);
+        // status and lines come from the row's snapshot, so order_detail is only read for orders without one
+        CustomerOrderResponseDto customerOrder = customerOrderRepo.findRowById(orderId)
+                .flatMap(row -> toCustomerOrderResponseDtos(List.of(row)).stream().findFirst())
+                .orElseThrow(() -> orderNotFound(orderId));
+        // one-row flag; OrderPurgeService removes the row and its lines later in set-based batches
+        if (customerOrderRepo.softDelete(orderId, new Date()) == 0) {
+            throw orderNotFound(orderId);
+        }
+        orderAnalyticsService.recordOrderDeleted(customerOrder);
+        orderAuditService.record(AuditEventType.ORDER_DELETED, orderId, customerOrder.getStatus(), null, null, customerOrder.getTotalAmount());
+        orderLookupFilterService.recordOrderDeleted(orderId);
+        orderExpiryService.onDeleted(orderId);
+        orderSearchCacheService.recordWrite();
+        orderStatusStreamService.publishDelete(customerOrder);
     }
 
+    // No surrounding transaction, so a cached page costs no connection; misses open their own shard transactions.
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CustomerOrderPaginateDto searchAll(String searchText, int page, int size) {
+        return orderSearchCacheService.get(searchText, page, size, () -> shardRouter.getShardCount() > 1
+                ? searchAllShards(searchText, page, size)
+                : shardRouter.inShard(0, () -> searchShard(searchText, page, size)));
+    }
+
+    private CustomerOrderPaginateDto searchShard(String searchText, int page, int size) {
         return CustomerOrderPaginateDto.builder()
                 .count(
                         customerOrderRepo.searchCount(searchText)
                 )
                 .dataList(
-                        customerOrderRepo.searchAll(searchText, PageRequest.of(page, size))
-                                .stream().map(this::toCustomerOrderResponseDto).collect(Collectors.toList())
+                        toCustomerOrderResponseDtos(customerOrderRepo.searchRows(searchText, PageRequest.of(page, size)))
                 )
                 .build();
     }
 
+    // Each shard returns the keys of its first (page + 1) * size matches in parallel; the page
+    // is merged from those and only the orders on it are loaded, from the shards that own them.
+    private CustomerOrderPaginateDto searchAllShards(String searchText, int page, int size) {
+        int window = (page + 1) * size;
+        List<ShardMatches> matches = shardRouter.scatter(shard -> new ShardMatches(
+                customerOrderRepo.searchCount(searchText), customerOrderRepo.searchKeys(searchText, window)));
+
+        long count = 0;
+        List<List<CustomerOrderRepo.OrderKey>> sortedKeys = new ArrayList<>(matches.size());
+        for (ShardMatches match : matches) {
+            count += match.count();
+            sortedKeys.add(match.keys());
+        }
+        List<String> pageIds = mergePage(sortedKeys, page * size, size);
+
+        Map<Integer, List<String>> idsByShard = pageIds.stream().collect(Collectors.groupingBy(shardRouter::shardOf));
+        Map<String, CustomerOrderResponseDto> loaded = new HashMap<>();
+        shardRouter.scatter(shard -> {
+            List<String> ids = idsByShard.get(shard);
+            return ids == null ? List.<CustomerOrderResponseDto>of() : toCustomerOrderResponseDtos(customerOrderRepo.findRowsByIds(ids));
+        }).forEach(dtos -> dtos.forEach(dto -> loaded.put(dto.getOrderId(), dto)));
+
+        return CustomerOrderPaginateDto.builder()
+                .count(count)
+                .dataList(pageIds.stream().map(loaded::get).filter(Objects::nonNull).collect(Collectors.toList()))
+                .build();
+    }
+
+    private static List<String> mergePage(List<List<CustomerOrderRepo.OrderKey>> sortedKeys, int skip, int size) {
+        PriorityQueue<MergeHead> heads = new PriorityQueue<MergeHead>(Comparator.comparing(MergeHead::key, NEWEST_FIRST));
+        for (List<CustomerOrderRepo.OrderKey> keys : sortedKeys) {
+            Iterator<CustomerOrderRepo.OrderKey> rest = keys.iterator();
+            if (rest.hasNext()) {
+                heads.add(new MergeHead(rest.next(), rest));
+            }
+        }
+        List<String> pageIds = new ArrayList<>(size);
+        for (int position = 0; position < skip + size && !heads.isEmpty(); position++) {
+            MergeHead head = heads.poll();
+            if (position >= skip) {
+                pageIds.add(head.key().getOrderId());
+            }
+            if (head.rest().hasNext()) {
+                heads.add(new MergeHead(head.rest().next(), head.rest()));
+            }
+        }
+        return pageIds;
+    }
+
+    private static final Comparator<CustomerOrderRepo.OrderKey> NEWEST_FIRST =
+            Comparator.comparing(CustomerOrderRepo.OrderKey::getOrderDate, Comparator.reverseOrder())
+                    .thenComparing(CustomerOrderRepo.OrderKey::getOrderId, Comparator.reverseOrder());
+
+    // All ids share a shard. The row lock and the status/age re-check make a stale wheel
+    // entry, a concurrent payment or another instance's expiry run a no-op here.
+    @Override
+    public List<ExpiredOrder> expirePendingOrders(List<String> orderIds, Date createdBefore) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        ShardContext.pin(shardRouter.shardOf(orderIds.get(0)));
+        OrderStatus pending = orderStatusRepo.findByStatus("PENDING")
+                .orElseThrow(() -> new EntryNotFoundException("Order status not found: PENDING"));
+        OrderStatus rejected = orderStatusRepo.findByStatus("REJECTED_BY_SYSTEM")
+                .orElseThrow(() -> new EntryNotFoundException("Order status not found: REJECTED_BY_SYSTEM"));
+        List<CustomerOrder> orders = customerOrderRepo.lockInStatusBefore(orderIds, pending, createdBefore);
+        List<ExpiredOrder> expired = new ArrayList<>(orders.size());
+        for (CustomerOrder order : orders) {
+            orderAnalyticsService.recordStatusChange(pending.getStatus(), rejected.getStatus(), order.getTotalAmount());
+            orderAuditService.record(AuditEventType.STATUS_CHANGED, order.getOrderId(), pending.getStatus(),
+                    rejected.getStatus(), "payment not completed in time", order.getTotalAmount());
+            order.setOrderStatus(rejected);
+            refreshSnapshotStatus(order);
+            orderStatusStreamService.publishUpdate(order);
+            expired.add(new ExpiredOrder(order.getOrderId(), order.getIntentId()));
+        }
+        customerOrderRepo.saveAll(orders);
+        if (!orders.isEmpty()) {
+            orderSearchCacheService.recordWrite();
+        }
+        return expired;
+    }
+
+    private record ShardMatches(long count, List<CustomerOrderRepo.OrderKey> keys) {
+    }
+
+    private record MergeHead(CustomerOrderRepo.OrderKey key, Iterator<CustomerOrderRepo.OrderKey> rest) {
+    }
+
+    // Keeps the snapshot in step with a status change, reusing its lines instead of loading order_detail when it can
+    private void refreshSnapshotStatus(CustomerOrder order) {
+        String status = order.getOrderStatus().getStatus();
+        order.setLineSnapshot(lineSnapshotCodec.withStatus(order.getLineSnapshot(), status)
+                .orElseGet(() -> lineSnapshotCodec.encode(status, order.getProducts())));
+    }
+
+    // Rows are served from their snapshot; rows without one are loaded from the normalized tables in one query.
+    private List<CustomerOrderResponseDto> toCustomerOrderResponseDtos(List<CustomerOrderRepo.OrderRow> rows) {
+        Map<String, CustomerOrderResponseDto> byId = new HashMap<>();
+        List<String> withoutSnapshot = new ArrayList<>();
+        for (CustomerOrderRepo.OrderRow row : rows) {
+            Optional<LineSnapshotCodec.Snapshot> snapshot = lineSnapshotCodec.decode(row.getLineSnapshot());
+            if (snapshot.isPresent()) {
+                byId.put(row.getOrderId(), CustomerOrderResponseDto.builder()
+                        .orderId(row.getOrderId())
+                        .orderDate(row.getOrderDate())
+                        .userId(row.getUserId())
+                        .totalAmount(row.getTotalAmount())
+                        .orderDetails(snapshot.get().toDetailDtos())
+                        .remark(row.getRemark())
+                        .status(snapshot.get().status())
+                        .build());
+            } else {
+                withoutSnapshot.add(row.getOrderId());
+            }
+        }
+        if (!withoutSnapshot.isEmpty()) {
+            customerOrderRepo.findAllWithProducts(withoutSnapshot)
+                    .forEach(order -> byId.put(order.getOrderId(), toCustomerOrderResponseDto(order)));
+        }
+        return rows.stream().map(row -> byId.get(row.getOrderId())).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     private CustomerOrderResponseDto toCustomerOrderResponseDto(CustomerOrder customerOrder) {
         if (customerOrder == null) {
             return null;
@@ -0,0 +1,136 @@
+package com.devstack.quickcart.order_service_api.service.impl;
+
+import com.devstack.quickcart.order_service_api.dto.response.FlightRecordingStatusResponseDto;
+import com.devstack.quickcart.order_service_api.exception.ConflictException;
+import com.devstack.quickcart.order_service_api.exception.EntryNotFoundException;
+import com.devstack.quickcart.order_service_api.service.FlightRecorderService;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Runs at most one Java Flight Recorder session at a time, on demand. A
+ * recording always stops by itself after its duration and is capped in size,
+ * so a forgotten one cannot fill the disk. It uses the JDK's
+ * {@code flight-recorder.settings} configuration (CPU sampling, allocation,
+ * GC and locks) plus the service's own events from the {@code jfr} package.
+ * A stopped recording stays available for download until the next one starts.
+ */
+@Slf4j
+@Service
+public class FlightRecorderServiceImpl implements FlightRecorderService {
+
+    @Value("${flight-recorder.settings:profile}")
+    private String settings;
+
+    @Value("${flight-recorder.default-duration-seconds:60}")
+    private int defaultDurationSeconds;
+
+    @Value("${flight-recorder.max-duration-seconds:600}")
+    private int maxDurationSeconds;
+
+    @Value("${flight-recorder.max-size-mb:250}")
+    private int maxSizeMb;
+
+    @Value("${flight-recorder.directory:${java.io.tmpdir}}")
+    private String directory;
+
+    private Recording recording;
+    private Path destination;
+
+    @Override
+    public synchronized FlightRecordingStatusResponseDto start(Integer durationSeconds, Integer sizeMb) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new ConflictException("A flight recording is already running");
+        }
+        discard();
+        int seconds = Math.min(durationSeconds == null ? defaultDurationSeconds : Math.max(1, durationSeconds), maxDurationSeconds);
+        long sizeBytes = (long) Math.min(sizeMb == null ? maxSizeMb : Math.max(1, sizeMb), maxSizeMb) * 1024 * 1024;
+        try {
+            Files.createDirectories(Path.of(directory));
+            destination = Files.createTempFile(Path.of(directory), "order-service-", ".jfr");
+            recording = new Recording(Configuration.getConfiguration(settings));
+            recording.setName("order-service on demand");
+            recording.setToDisk(true);
+            recording.setDestination(destination);
+            recording.setDuration(Duration.ofSeconds(seconds));
+            recording.setMaxSize(sizeBytes);
+            recording.start();
+        } catch (IOException e) {
+            discard();
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            discard();
+            throw new IllegalStateException("Unknown flight recorder settings " + settings, e);
+        }
+        log.info("Flight recording started for {} s, at most {} MB, to {}", seconds, sizeBytes / 1024 / 1024, destination);
+        return getStatus();
+    }
+
+    @Override
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new EntryNotFoundException("No flight recording to stop");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        log.info("Flight recording stopped, {} bytes in {}", size(destination), destination);
+        return destination;
+    }
+
+    @Override
+    public synchronized FlightRecordingStatusResponseDto getStatus() {
+        if (recording == null) {
+            return FlightRecordingStatusResponseDto.builder().state("NONE").settings(settings).build();
+        }
+        return FlightRecordingStatusResponseDto.builder()
+                .state(recording.getState().name())
+                .settings(settings)
+                .startedAt(recording.getStartTime() == null ? null : Date.from(recording.getStartTime()))
+                .maxDurationSeconds(recording.getDuration() == null ? 0 : recording.getDuration().toSeconds())
+                .maxSizeBytes(recording.getMaxSize())
+                .recordedBytes(recording.getState() == RecordingState.RUNNING ? recording.getSize() : size(destination))
+                .build();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        discard();
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (destination != null) {
+            try {
+                Files.deleteIfExists(destination);
+            } catch (IOException e) {
+                log.warn("Could not delete old flight recording {}: {}", destination, e.getMessage());
+            }
+            destination = null;
+        }
+    }
+
+    private static long size(Path path) {
+        try {
+            return path == null ? 0 : Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
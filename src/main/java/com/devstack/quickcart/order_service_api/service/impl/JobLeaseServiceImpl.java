@@ -0,0 +1,41 @@
+package com.devstack.quickcart.order_service_api.service.impl;
+
+import com.devstack.quickcart.order_service_api.repo.JobLeaseRepo;
+import com.devstack.quickcart.order_service_api.service.JobLeaseService;
+import com.devstack.quickcart.order_service_api.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Time-bounded leases in the {@code job_lease} table on shard 0, so a scheduled
+ * job that every instance fires on the same tick runs on only one of them. A
+ * lease that is never released (the holder died) simply expires.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobLeaseServiceImpl implements JobLeaseService {
+
+    private final JobLeaseRepo jobLeaseRepo;
+    private final ShardRouter shardRouter;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    @Override
+    public boolean tryAcquire(String jobName, long leaseMs) {
+        Date now = new Date();
+        shardRouter.inShard(0, () -> {
+            jobLeaseRepo.ensureExists(jobName, now);
+            return null;
+        });
+        return shardRouter.inShard(0, () ->
+                jobLeaseRepo.claim(jobName, owner, new Date(now.getTime() + leaseMs), now) == 1);
+    }
+
+    @Override
+    public void release(String jobName) {
+        shardRouter.inShard(0, () -> jobLeaseRepo.release(jobName, owner, new Date()));
+    }
+}
@@ -1,62 +1,81 @@
 package com.devstack.quickcart.order_service_api.service.impl;
 
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.Jwts;
-import org.springframework.beans.factory.annotation.Value;
+import com.devstack.quickcart.order_service_api.jfr.JwtVerificationEvent;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import com.devstack.quickcart.order_service_api.security.JwksKeyProvider;
+import io.jsonwebtoken.*;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.security.KeyFactory;
-import java.security.NoSuchAlgorithmException;
-import java.security.PublicKey;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.X509EncodedKeySpec;
-import java.util.Base64;
+import java.security.Key;
 import java.util.List;
 import java.util.Map;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${public.key.string}")
-    private  String publicKeyString;
+    private static final String BEARER_PREFIX = "Bearer ";
 
-    public String getEmail(String token){
-        try{
-            byte[] keyBytes = Base64.getDecoder().decode(publicKeyString);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            PublicKey publicKey = keyFactory.generatePublic(spec);
+    private final JwksKeyProvider jwksKeyProvider;
 
-            Jws<Claims> claimsJws = Jwts.parserBuilder()
-                    .setSigningKey(publicKey)
-                    .build().parseClaimsJws(token);
+    private JwtParser jwtParser;
 
-            Claims body = claimsJws.getBody();
-            return body.get("email", String.class);
+    @PostConstruct
+    public void init() {
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return jwksKeyProvider.resolve(header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new RuntimeException(e);
+    // Verifies the signature and expiry once and returns the caller's identity.
+    public AuthenticatedUser authenticate(String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        try {
+            Claims body = jwtParser.parseClaimsJws(stripBearer(token)).getBody();
+            event.setSubject(body.getSubject());
+            return new AuthenticatedUser(body.getSubject(), body.get("email", String.class), extractRoles(body));
+        } catch (RuntimeException e) {
+            event.setFailure(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            event.commit();
         }
     }
-    public List<String> getRoles(String token) {
-        try {
-            byte[] keyBytes = Base64.getDecoder().decode(publicKeyString);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            PublicKey publicKey = keyFactory.generatePublic(spec);
 
-            Jws<Claims> claimsJws = Jwts.parserBuilder()
-                    .setSigningKey(publicKey)
-                    .build().parseClaimsJws(token);
+    public String getEmail(String token){
+        return authenticate(token).getEmail();
+    }
+
+    public List<String> getRoles(String token) {
+        return List.copyOf(authenticate(token).getRoles());
+    }
 
-            Claims body = claimsJws.getBody();
-            Map<String, List<String>> realmAccess = (Map<String, List<String>>) body.get("realm_access");
-            return realmAccess.get("roles");
+    @SuppressWarnings("unchecked")
+    private List<String> extractRoles(Claims body) {
+        Object realmAccess = body.get("realm_access");
+        if (!(realmAccess instanceof Map)) {
+            return List.of();
+        }
+        Object roles = ((Map<String, Object>) realmAccess).get("roles");
+        return roles instanceof List ? (List<String>) roles : List.of();
+    }
 
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new RuntimeException(e);
+    private String stripBearer(String token) {
+        if (token == null || token.isBlank()) {
+            throw new MalformedJwtException("Authorization token is required");
         }
+        String trimmed = token.trim();
+        return trimmed.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())
+                ? trimmed.substring(BEARER_PREFIX.length()).trim()
+                : trimmed;
     }
 }
@@ -0,0 +1,430 @@
+package com.devstack.quickcart.order_service_api.service.impl;
+
+import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.DailyRevenueResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.OrderDetailResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.ProductSalesResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.StatusCountResponseDto;
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+import com.devstack.quickcart.order_service_api.entity.OrderDetail;
+import com.devstack.quickcart.order_service_api.entity.OrderRollup;
+import com.devstack.quickcart.order_service_api.entity.RollupDimension;
+import com.devstack.quickcart.order_service_api.repo.OrderRollupRepo;
+import com.devstack.quickcart.order_service_api.repo.RollupEpochRepo;
+import com.devstack.quickcart.order_service_api.service.JobLeaseService;
+import com.devstack.quickcart.order_service_api.service.OrderAnalyticsService;
+import com.devstack.quickcart.order_service_api.service.OrderArchiveService;
+import com.devstack.quickcart.order_service_api.sharding.ShardRouter;
+import com.devstack.quickcart.order_service_api.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Order rollups kept as striped in-memory counters. Mutations add deltas after
+ * their transaction commits; a scheduled flush folds the deltas into the
+ * {@code order_rollup} table (on shard 0) and reloads it, so dashboards read
+ * memory only and see other instances' writes within one flush interval.
+ * <p>
+ * The full rebuild runs on one instance per tick (a {@code job_lease} row) and
+ * overwrites rows in place, so readers never see an emptied table. It first
+ * publishes a cut in {@code rollup_epoch}; deltas are bucketed by the second they
+ * were recorded in, and every instance drops the buckets before the cut instead of
+ * flushing them on top of totals that already count them.
+ * <p>
+ * Days are cut in {@code analytics.rollup.zone}, the zone DATETIME columns are
+ * written in, so the in-memory keys and the rebuild's {@code CAST(order_date AS DATE)}
+ * agree.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
+
+    private static final String REBUILD_JOB = "order-rollup-rebuild";
+    private static final String ROLLUP_EPOCH = "order-rollup";
+    // drained buckets are kept this long, so a writer that read the clock just before
+    // a flush still finds its bucket in place
+    private static final long BUCKET_RETENTION_SECONDS = 60;
+
+    private final OrderRollupRepo orderRollupRepo;
+    private final RollupEpochRepo rollupEpochRepo;
+    private final OrderArchiveService orderArchiveService;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${analytics.rollup.rebuild-lease-ms:1800000}")
+    private long rebuildLeaseMs;
+
+    @Value("${analytics.rollup.zone:UTC}")
+    private ZoneId zone;
+
+    // deltas by the second they were recorded in
+    private final ConcurrentSkipListMap<Long, Map<RollupDimension, ConcurrentHashMap<String, RollupCounter>>> pending =
+            new ConcurrentSkipListMap<>();
+    private volatile View view = new View(emptyTotals(), emptyTotals());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (orderRollupRepo.count() == 0) {
+            rebuild();
+        } else {
+            view = new View(loadPersisted(), emptyTotals());
+        }
+    }
+
+    @Override
+    public void recordOrderCreated(CustomerOrder order) {
+        String day = dayKey(order.getOrderDate());
+        String status = order.getOrderStatus().getStatus();
+        double amount = order.getTotalAmount();
+        Map<String, Totals> products = productTotals(order);
+        TransactionHooks.afterCommit(() -> {
+            long second = currentSecond();
+            add(second, RollupDimension.DAY, day, 1, 0, amount);
+            add(second, RollupDimension.STATUS, status, 1, 0, amount);
+            products.forEach((productId, t) -> add(second, RollupDimension.PRODUCT, productId, t.orderCount(), t.quantity(), t.amount()));
+        });
+    }
+
+    @Override
+    public void recordOrderDeleted(CustomerOrderResponseDto order) {
+        String day = dayKey(order.getOrderDate());
+        String status = order.getStatus();
+        double amount = order.getTotalAmount();
+        Map<String, Totals> products = productTotals(order.getOrderDetails());
+        TransactionHooks.afterCommit(() -> {
+            long second = currentSecond();
+            add(second, RollupDimension.DAY, day, -1, 0, -amount);
+            add(second, RollupDimension.STATUS, status, -1, 0, -amount);
+            products.forEach((productId, t) -> add(second, RollupDimension.PRODUCT, productId, -t.orderCount(), -t.quantity(), -t.amount()));
+        });
+    }
+
+    @Override
+    public void recordStatusChange(String fromStatus, String toStatus, double amount) {
+        if (Objects.equals(fromStatus, toStatus)) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            long second = currentSecond();
+            add(second, RollupDimension.STATUS, fromStatus, -1, 0, -amount);
+            add(second, RollupDimension.STATUS, toStatus, 1, 0, amount);
+        });
+    }
+
+    @Override
+    public void recordOrderRevalued(Date previousDate, double previousAmount, CustomerOrder order) {
+        String previousDay = dayKey(previousDate);
+        String day = dayKey(order.getOrderDate());
+        String status = order.getOrderStatus().getStatus();
+        double amount = order.getTotalAmount();
+        TransactionHooks.afterCommit(() -> {
+            long second = currentSecond();
+            add(second, RollupDimension.DAY, previousDay, -1, 0, -previousAmount);
+            add(second, RollupDimension.DAY, day, 1, 0, amount);
+            add(second, RollupDimension.STATUS, status, 0, 0, amount - previousAmount);
+        });
+    }
+
+    @Override
+    public List<DailyRevenueResponseDto> revenuePerDay(LocalDate from, LocalDate to) {
+        return totals(RollupDimension.DAY).entrySet().stream()
+                .filter(e -> {
+                    LocalDate day = LocalDate.parse(e.getKey());
+                    return (from == null || !day.isBefore(from)) && (to == null || !day.isAfter(to));
+                })
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> DailyRevenueResponseDto.builder()
+                        .date(e.getKey())
+                        .orderCount(e.getValue().orderCount())
+                        .revenue(e.getValue().amount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<StatusCountResponseDto> ordersPerStatus() {
+        return totals(RollupDimension.STATUS).entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> StatusCountResponseDto.builder()
+                        .status(e.getKey())
+                        .orderCount(e.getValue().orderCount())
+                        .amount(e.getValue().amount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProductSalesResponseDto> topProducts(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Map.Entry<String, Totals>> top =
+                new PriorityQueue<>(Comparator.comparingDouble((Map.Entry<String, Totals> e) -> e.getValue().amount()));
+        for (Map.Entry<String, Totals> entry : totals(RollupDimension.PRODUCT).entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<ProductSalesResponseDto> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<String, Totals> e = top.poll();
+            result.add(ProductSalesResponseDto.builder()
+                    .productId(e.getKey())
+                    .orderCount(e.getValue().orderCount())
+                    .quantity(e.getValue().quantity())
+                    .revenue(e.getValue().amount())
+                    .build());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${analytics.rollup.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        NavigableMap<Long, Map<RollupDimension, Map<String, Totals>>> drained = drain();
+        view = new View(view.persisted(), merge(drained.values()));
+        try {
+            if (!drained.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // buckets before the last rebuild's cut are already in its totals
+                    Long rebuiltFrom = rollupEpochRepo.lockRebuiltFrom(ROLLUP_EPOCH);
+                    long firstSecond = rebuiltFrom == null ? Long.MIN_VALUE : rebuiltFrom / 1000;
+                    merge(drained.tailMap(firstSecond, true).values()).forEach((dimension, byKey) ->
+                            byKey.forEach((key, t) -> orderRollupRepo.increment(
+                                    dimension.rollupId(key), dimension.name(), key, t.orderCount(), t.quantity(), t.amount())));
+                });
+            }
+        } catch (RuntimeException e) {
+            // put the deltas back into their own seconds so the next flush retries them
+            drained.forEach((second, totals) -> totals.forEach((dimension, byKey) ->
+                    byKey.forEach((key, t) -> add(second, dimension, key, t.orderCount(), t.quantity(), t.amount()))));
+            view = new View(view.persisted(), emptyTotals());
+            log.warn("Order rollup flush failed, deltas will be retried: {}", e.getMessage());
+            return;
+        }
+        view = new View(loadPersisted(), emptyTotals());
+    }
+
+    @Override
+    @Scheduled(cron = "${analytics.rollup.rebuild-cron:0 30 3 * * *}")
+    public synchronized void rebuild() {
+        if (!jobLeaseService.tryAcquire(REBUILD_JOB, rebuildLeaseMs)) {
+            // the other instance's result reaches this one with the next flush
+            log.info("Order rollup rebuild skipped, another instance holds the lease");
+            return;
+        }
+        try {
+            // The cut falls on a whole second so no bucket straddles it. Deltas recorded before
+            // it are covered by the scan below and dropped by every instance's next flush. A
+            // mutation that commits while the scan runs can still be counted twice or missed
+            // until the next rebuild, and instance clocks are assumed to agree to well under
+            // a second.
+            long rebuiltFrom = publishCut();
+            pending.headMap(rebuiltFrom / 1000).clear();
+            List<OrderRollup> rows = new ArrayList<>();
+            rows.addAll(toRollups(RollupDimension.DAY, aggregateShards(shard -> orderRollupRepo.aggregateByDay())));
+            rows.addAll(toRollups(RollupDimension.STATUS, aggregateShards(shard -> orderRollupRepo.aggregateByStatus())));
+            rows.addAll(productRollups());
+            Set<String> rebuiltIds = rows.stream().map(OrderRollup::getRollupId).collect(Collectors.toSet());
+            transactionTemplate.executeWithoutResult(status -> {
+                rows.forEach(row -> orderRollupRepo.overwrite(row.getRollupId(), row.getDimension(), row.getDimensionKey(),
+                        row.getOrderCount(), row.getQuantity(), row.getAmount()));
+                List<String> stale = orderRollupRepo.findAllIds().stream().filter(id -> !rebuiltIds.contains(id)).toList();
+                orderRollupRepo.deleteAllByIdInBatch(stale);
+            });
+            view = new View(index(rows), emptyTotals());
+            log.info("Order rollups rebuilt: {} rows", rows.size());
+        } finally {
+            jobLeaseService.release(REBUILD_JOB);
+        }
+    }
+
+    private long publishCut() {
+        long rebuiltFrom = (currentSecond() + 1) * 1000;
+        try {
+            Thread.sleep(Math.max(0, rebuiltFrom - System.currentTimeMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the rollup cut", e);
+        }
+        transactionTemplate.executeWithoutResult(status -> rollupEpochRepo.publish(ROLLUP_EPOCH, rebuiltFrom));
+        return rebuiltFrom;
+    }
+
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private void add(long second, RollupDimension dimension, String key, long orderCount, long quantity, double amount) {
+        RollupCounter counter = pending.computeIfAbsent(second, s -> newPending())
+                .get(dimension).computeIfAbsent(key, k -> new RollupCounter());
+        counter.orderCount.add(orderCount);
+        counter.quantity.add(quantity);
+        counter.amount.add(amount);
+    }
+
+    private NavigableMap<Long, Map<RollupDimension, Map<String, Totals>>> drain() {
+        long retainFrom = currentSecond() - BUCKET_RETENTION_SECONDS;
+        NavigableMap<Long, Map<RollupDimension, Map<String, Totals>>> drained = new TreeMap<>();
+        pending.forEach((second, bucket) -> {
+            if (second < retainFrom) {
+                pending.remove(second);
+            }
+            Map<RollupDimension, Map<String, Totals>> totals = emptyTotals();
+            bucket.forEach((dimension, counters) -> counters.forEach((key, counter) -> {
+                Totals t = new Totals(counter.orderCount.sumThenReset(), counter.quantity.sumThenReset(), counter.amount.sumThenReset());
+                if (!t.isZero()) {
+                    totals.get(dimension).put(key, t);
+                }
+            }));
+            if (totals.values().stream().anyMatch(byKey -> !byKey.isEmpty())) {
+                drained.put(second, totals);
+            }
+        });
+        return drained;
+    }
+
+    private static Map<RollupDimension, Map<String, Totals>> merge(Collection<Map<RollupDimension, Map<String, Totals>>> buckets) {
+        Map<RollupDimension, Map<String, Totals>> merged = emptyTotals();
+        buckets.forEach(bucket -> bucket.forEach((dimension, byKey) ->
+                byKey.forEach((key, t) -> merged.get(dimension).merge(key, t, Totals::plus))));
+        return merged;
+    }
+
+    private Map<String, Totals> totals(RollupDimension dimension) {
+        View current = view;
+        Map<String, Totals> merged = new HashMap<>(current.persisted().get(dimension));
+        current.inFlight().get(dimension).forEach((key, t) -> merged.merge(key, t, Totals::plus));
+        pending.values().forEach(bucket -> bucket.get(dimension).forEach((key, counter) -> merged.merge(key,
+                new Totals(counter.orderCount.sum(), counter.quantity.sum(), counter.amount.sum()), Totals::plus)));
+        merged.values().removeIf(t -> t.orderCount() <= 0);
+        return merged;
+    }
+
+    private Map<RollupDimension, Map<String, Totals>> loadPersisted() {
+        return index(orderRollupRepo.findAll());
+    }
+
+    private static Map<RollupDimension, Map<String, Totals>> index(List<OrderRollup> rows) {
+        Map<RollupDimension, Map<String, Totals>> indexed = emptyTotals();
+        for (OrderRollup row : rows) {
+            indexed.get(RollupDimension.valueOf(row.getDimension()))
+                    .put(row.getDimensionKey(), new Totals(row.getOrderCount(), row.getQuantity(), row.getAmount()));
+        }
+        return indexed;
+    }
+
+    // Runs the aggregate on every shard and sums the rows per key.
+    private Map<String, Totals> aggregateShards(IntFunction<List<OrderRollupRepo.RollupRow>> query) {
+        Map<String, Totals> merged = new HashMap<>();
+        for (List<OrderRollupRepo.RollupRow> rows : shardRouter.scatter(query)) {
+            for (OrderRollupRepo.RollupRow row : rows) {
+                merged.merge(String.valueOf(row.getDimensionKey()), new Totals(
+                        row.getOrderCount() == null ? 0 : row.getOrderCount(),
+                        row.getQuantity() == null ? 0 : row.getQuantity(),
+                        row.getAmount() == null ? 0 : row.getAmount()), Totals::plus);
+            }
+        }
+        return merged;
+    }
+
+    private static List<OrderRollup> toRollups(RollupDimension dimension, Map<String, Totals> totals) {
+        return totals.entrySet().stream()
+                .map(e -> OrderRollup.builder()
+                        .rollupId(dimension.rollupId(e.getKey()))
+                        .dimension(dimension.name())
+                        .dimensionKey(e.getKey())
+                        .orderCount(e.getValue().orderCount())
+                        .quantity(e.getValue().quantity())
+                        .amount(e.getValue().amount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<OrderRollup> productRollups() {
+        Map<String, Totals> products = aggregateShards(shard -> orderRollupRepo.aggregateByProduct());
+        orderArchiveService.forEachArchivedOrder(order ->
+                productTotals(order.getOrderDetails()).forEach((productId, t) -> products.merge(productId, t, Totals::plus)));
+        return toRollups(RollupDimension.PRODUCT, products);
+    }
+
+    private static Map<String, Totals> productTotals(CustomerOrder order) {
+        Map<String, Totals> products = new HashMap<>();
+        for (OrderDetail detail : order.getProducts()) {
+            double lineAmount = detail.getUnitPrice() * detail.getQty() - detail.getDiscount();
+            products.merge(detail.getProductId(), new Totals(1, detail.getQty(), lineAmount),
+                    (a, b) -> new Totals(1, a.quantity() + b.quantity(), a.amount() + b.amount()));
+        }
+        return products;
+    }
+
+    private static Map<String, Totals> productTotals(List<OrderDetailResponseDto> details) {
+        Map<String, Totals> products = new HashMap<>();
+        for (OrderDetailResponseDto detail : details) {
+            double lineAmount = detail.getUnitPrice() * detail.getQty() - detail.getDiscount();
+            products.merge(detail.getProductId(), new Totals(1, detail.getQty(), lineAmount),
+                    (a, b) -> new Totals(1, a.quantity() + b.quantity(), a.amount() + b.amount()));
+        }
+        return products;
+    }
+
+    private String dayKey(Date date) {
+        return date.toInstant().atZone(zone).toLocalDate().toString();
+    }
+
+    private static Map<RollupDimension, ConcurrentHashMap<String, RollupCounter>> newPending() {
+        Map<RollupDimension, ConcurrentHashMap<String, RollupCounter>> map = new EnumMap<>(RollupDimension.class);
+        for (RollupDimension dimension : RollupDimension.values()) {
+            map.put(dimension, new ConcurrentHashMap<>());
+        }
+        return map;
+    }
+
+    private static Map<RollupDimension, Map<String, Totals>> emptyTotals() {
+        Map<RollupDimension, Map<String, Totals>> map = new EnumMap<>(RollupDimension.class);
+        for (RollupDimension dimension : RollupDimension.values()) {
+            map.put(dimension, new HashMap<>());
+        }
+        return map;
+    }
+
+    private static final class RollupCounter {
+        private final LongAdder orderCount = new LongAdder();
+        private final LongAdder quantity = new LongAdder();
+        private final DoubleAdder amount = new DoubleAdder();
+    }
+
+    private record Totals(long orderCount, long quantity, double amount) {
+        Totals plus(Totals other) {
+            return new Totals(orderCount + other.orderCount, quantity + other.quantity, amount + other.amount);
+        }
+
+        boolean isZero() {
+            return orderCount == 0 && quantity == 0 && amount == 0;
+        }
+    }
+
+    private record View(Map<RollupDimension, Map<String, Totals>> persisted,
+                        Map<RollupDimension, Map<String, Totals>> inFlight) {
+    }
+}
@@ -0,0 +1,275 @@
+package com.devstack.quickcart.order_service_api.service.impl;
+
+import com.devstack.quickcart.order_service_api.dto.response.ArchiveStatsResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.OrderDetailResponseDto;
+import com.devstack.quickcart.order_service_api.entity.ArchivedOrder;
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+import com.devstack.quickcart.order_service_api.repo.ArchivedOrderRepo;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.repo.OrderDetailRepo;
+import com.devstack.quickcart.order_service_api.service.OrderArchiveService;
+import com.devstack.quickcart.order_service_api.service.OrderSearchCacheService;
+import com.devstack.quickcart.order_service_api.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves finalized orders older than {@code archive.retention-days} out of
+ * {@code customer_order}/{@code order_detail} into one gzip-compressed row per
+ * order in {@code archived_customer_order} on the same shard. Batches run in
+ * their own transaction with a pause between them so no shard is ever hogged.
+ * A batch locks its rows and re-checks status and age under the lock, so a
+ * concurrent status change or a second instance never archives a stale copy or
+ * the same order twice.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+    private static final int SCAN_PAGE_SIZE = 500;
+
+    private final CustomerOrderRepo customerOrderRepo;
+    private final OrderDetailRepo orderDetailRepo;
+    private final ArchivedOrderRepo archivedOrderRepo;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final OrderSearchCacheService orderSearchCacheService;
+
+    @Value("${archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${archive.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${archive.statuses:COMPLETED,REJECTED_BY_USER,REJECTED_BY_ADMIN,REJECTED_BY_SYSTEM}")
+    private List<String> finalizedStatuses;
+
+    @Value("${archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${archive.batch-pause-ms:500}")
+    private long batchPauseMs;
+
+    @Value("${archive.max-batches-per-run:500}")
+    private int maxBatchesPerRun;
+
+    private final AtomicLong ordersArchived = new AtomicLong();
+    private final AtomicLong detailRowsMoved = new AtomicLong();
+    private final AtomicLong archiveLookups = new AtomicLong();
+    private final AtomicLong archiveLookupNanos = new AtomicLong();
+    private final AtomicLong liveLookups = new AtomicLong();
+    private final AtomicLong liveLookupNanos = new AtomicLong();
+    private volatile long lastRunOrders;
+    private volatile long lastRunMillis;
+
+    @Scheduled(cron = "${archive.cron:0 0 2 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveFinalizedOrders();
+        }
+    }
+
+    @Override
+    public synchronized int archiveFinalizedOrders() {
+        long started = System.currentTimeMillis();
+        Date cutoff = new Date(started - TimeUnit.DAYS.toMillis(retentionDays));
+        int total = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount() && !Thread.currentThread().isInterrupted(); shard++) {
+            total += archiveShard(shard, cutoff);
+        }
+        lastRunOrders = total;
+        lastRunMillis = System.currentTimeMillis() - started;
+        log.info("Archived {} finalized orders older than {} days in {} ms", total, retentionDays, lastRunMillis);
+        return total;
+    }
+
+    private int archiveShard(int shard, Date cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = shardRouter.inShard(shard, () -> archiveBatch(cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int archiveBatch(Date cutoff) {
+        List<String> candidates = customerOrderRepo.findFinalizedOrderIds(finalizedStatuses, cutoff, batchSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        // rows changed or archived by someone else since the scan drop out here
+        List<String> ids = customerOrderRepo.lockByIds(candidates).stream()
+                .filter(order -> finalizedStatuses.contains(order.getOrderStatus().getStatus()) && order.getOrderDate().before(cutoff))
+                .map(CustomerOrder::getOrderId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<CustomerOrder> orders = customerOrderRepo.findAllWithProducts(ids);
+        Date archivedAt = new Date();
+        List<ArchivedOrder> archived = new ArrayList<>(orders.size());
+        for (CustomerOrder order : orders) {
+            byte[] json = toJson(toResponseDto(order));
+            archived.add(ArchivedOrder.builder()
+                    .orderId(order.getOrderId())
+                    .userId(order.getUserId())
+                    .orderDate(order.getOrderDate())
+                    .status(order.getOrderStatus().getStatus())
+                    .totalAmount(order.getTotalAmount())
+                    .archivedAt(archivedAt)
+                    .rawSize(json.length)
+                    .payload(gzip(json))
+                    .build());
+        }
+        archivedOrderRepo.saveAll(archived);
+        archivedOrderRepo.flush();
+        int details = orderDetailRepo.deleteByOrderIds(ids);
+        customerOrderRepo.deleteByOrderIds(ids);
+        // archived orders drop out of live search
+        orderSearchCacheService.recordWrite();
+        ordersArchived.addAndGet(archived.size());
+        detailRowsMoved.addAndGet(details);
+        return ids.size();
+    }
+
+    // Reads the shard the caller's transaction is pinned to, which is the shard of the order id.
+    @Override
+    public Optional<CustomerOrderResponseDto> findArchivedOrder(String orderId) {
+        long started = System.nanoTime();
+        try {
+            return archivedOrderRepo.findById(orderId).map(this::fromArchive);
+        } finally {
+            archiveLookups.incrementAndGet();
+            archiveLookupNanos.addAndGet(System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public void forEachArchivedOrder(Consumer<CustomerOrderResponseDto> consumer) {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            String lastId = "";
+            List<ArchivedOrder> page;
+            do {
+                String after = lastId;
+                page = shardRouter.inShard(shard, () -> archivedOrderRepo.findPageAfter(after, SCAN_PAGE_SIZE));
+                for (ArchivedOrder archived : page) {
+                    consumer.accept(fromArchive(archived));
+                    lastId = archived.getOrderId();
+                }
+            } while (page.size() == SCAN_PAGE_SIZE);
+        }
+    }
+
+    @Override
+    public void recordLiveLookup(long nanos) {
+        liveLookups.incrementAndGet();
+        liveLookupNanos.addAndGet(nanos);
+    }
+
+    @Override
+    public ArchiveStatsResponseDto getStats() {
+        long archivedOrders = 0;
+        long rawBytes = 0;
+        long storedBytes = 0;
+        for (ArchivedOrderRepo.ArchiveSize size : shardRouter.scatter(shard -> archivedOrderRepo.archiveSize())) {
+            archivedOrders += size.getOrderCount() == null ? 0 : size.getOrderCount();
+            rawBytes += size.getRawBytes() == null ? 0 : size.getRawBytes();
+            storedBytes += size.getStoredBytes() == null ? 0 : size.getStoredBytes();
+        }
+        return ArchiveStatsResponseDto.builder()
+                .archivedOrders(archivedOrders)
+                .rawBytes(rawBytes)
+                .storedBytes(storedBytes)
+                .bytesSaved(rawBytes - storedBytes)
+                .compressionRatio(storedBytes == 0 ? 0 : (double) rawBytes / storedBytes)
+                .ordersArchivedSinceStart(ordersArchived.get())
+                .detailRowsMovedSinceStart(detailRowsMoved.get())
+                .lastRunOrders(lastRunOrders)
+                .lastRunMillis(lastRunMillis)
+                .archiveLookups(archiveLookups.get())
+                .archiveLookupAvgMillis(averageMillis(archiveLookupNanos.get(), archiveLookups.get()))
+                .liveLookups(liveLookups.get())
+                .liveLookupAvgMillis(averageMillis(liveLookupNanos.get(), liveLookups.get()))
+                .build();
+    }
+
+    private CustomerOrderResponseDto fromArchive(ArchivedOrder archived) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(archived.getPayload()))) {
+            return objectMapper.readValue(in, CustomerOrderResponseDto.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt archive payload for order " + archived.getOrderId(), e);
+        }
+    }
+
+    private byte[] toJson(CustomerOrderResponseDto dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(raw.length / 2 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static double averageMillis(long nanos, long count) {
+        return count == 0 ? 0 : nanos / 1_000_000.0 / count;
+    }
+
+    private CustomerOrderResponseDto toResponseDto(CustomerOrder customerOrder) {
+        return CustomerOrderResponseDto.builder()
+                .orderId(customerOrder.getOrderId())
+                .orderDate(customerOrder.getOrderDate())
+                .userId(customerOrder.getUserId())
+                .totalAmount(customerOrder.getTotalAmount())
+                .orderDetails(
+                        customerOrder.getProducts().stream().map(d -> OrderDetailResponseDto.builder()
+                                .productId(d.getProductId())
+                                .detailId(d.getDetailId())
+                                .discount(d.getDiscount())
+                                .qty(d.getQty())
+                                .unitPrice(d.getUnitPrice())
+                                .build()).collect(Collectors.toList())
+                )
+                .remark(customerOrder.getRemark())
+                .status(customerOrder.getOrderStatus().getStatus())
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.devstack.quickcart.order_service_api.service.impl;
+
+import com.devstack.quickcart.order_service_api.audit.AuditEventType;
+import com.devstack.quickcart.order_service_api.audit.AuditLog;
+import com.devstack.quickcart.order_service_api.audit.AuditLogReader;
+import com.devstack.quickcart.order_service_api.audit.AuditRecord;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import com.devstack.quickcart.order_service_api.service.OrderAuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class OrderAuditServiceImpl implements OrderAuditService {
+
+    private static final String SYSTEM_ACTOR = "system";
+
+    private final AuditLog auditLog;
+
+    private final ThreadLocal<PendingAudits> pending = ThreadLocal.withInitial(this::newPendingAudits);
+
+    // Only committed changes are audited; the caller is resolved now, while the security context is still ours.
+    // Inside a transaction the entry goes into this thread's reusable buffer, so a call allocates nothing.
+    @Override
+    public void record(AuditEventType type, String orderId, String before, String after, String detail, double amount) {
+        String actor = currentActor();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditLog.append(type, orderId, actor, before, after, detail, amount);
+            return;
+        }
+        pending.get().add(type, orderId, actor, before, after, detail, amount);
+    }
+
+    // Scans every segment, meant for support lookups rather than the request path.
+    @Override
+    public List<AuditRecord> findByOrderId(String orderId) {
+        return AuditLogReader.find(auditLog.getDirectory(), record -> orderId.equals(record.orderId()));
+    }
+
+    private PendingAudits newPendingAudits() {
+        return new PendingAudits(auditLog);
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getEmail();
+        }
+        return SYSTEM_ACTOR;
+    }
+
+    /**
+     * One thread's audits awaiting commit. It registers itself once per transaction,
+     * on the first entry, and keeps one {@link Batch} per transaction nesting level so
+     * a REQUIRES_NEW transaction commits or rolls back its own entries only.
+     */
+    private static final class PendingAudits implements TransactionSynchronization {
+
+        private final AuditLog auditLog;
+        private Batch[] levels = {new Batch()};
+        private int depth;
+
+        PendingAudits(AuditLog auditLog) {
+            this.auditLog = auditLog;
+        }
+
+        void add(AuditEventType type, String orderId, String actor, String before, String after, String detail, double amount) {
+            Batch batch = levels[depth];
+            if (!batch.registered) {
+                TransactionSynchronizationManager.registerSynchronization(this);
+                batch.registered = true;
+            }
+            batch.add(type, orderId, actor, before, after, detail, amount);
+        }
+
+        @Override
+        public void suspend() {
+            if (++depth == levels.length) {
+                levels = Arrays.copyOf(levels, depth + 1);
+                levels[depth] = new Batch();
+            }
+        }
+
+        @Override
+        public void resume() {
+            depth--;
+        }
+
+        // After completion rather than after commit, so entries other commit hooks record are written too.
+        @Override
+        public void afterCompletion(int status) {
+            Batch batch = levels[depth];
+            if (status == STATUS_COMMITTED) {
+                for (int i = 0; i < batch.size; i++) {
+                    auditLog.append(batch.types[i], batch.orderIds[i], batch.actors[i], batch.befores[i],
+                            batch.afters[i], batch.details[i], batch.amounts[i]);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    // Grows the first time a transaction records more entries than it holds, then is reused as is.
+    private static final class Batch {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        AuditEventType[] types = new AuditEventType[INITIAL_CAPACITY];
+        String[] orderIds = new String[INITIAL_CAPACITY];
+        String[] actors = new String[INITIAL_CAPACITY];
+        String[] befores = new String[INITIAL_CAPACITY];
+        String[] afters = new String[INITIAL_CAPACITY];
+        String[] details = new String[INITIAL_CAPACITY];
+        double[] amounts = new double[INITIAL_CAPACITY];
+        int size;
+        boolean registered;
+
+        void add(AuditEventType type, String orderId, String actor, String before, String after, String detail, double amount) {
+            if (size == types.length) {
+                int capacity = size * 2;
+                types = Arrays.copyOf(types, capacity);
+                orderIds = Arrays.copyOf(orderIds, capacity);
+                actors = Arrays.copyOf(actors, capacity);
+                befores = Arrays.copyOf(befores, capacity);
+                afters = Arrays.copyOf(afters, capacity);
+                details = Arrays.copyOf(details, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+            }
+            types[size] = type;
+            orderIds[size] = orderId;
+            actors[size] = actor;
+            befores[size] = before;
+            afters[size] = after;
+            details[size] = detail;
+            amounts[size] = amount;
+            size++;
+        }
+
+        // drops the references so a finished transaction's values are not kept alive by the thread
+        void clear() {
+            Arrays.fill(types, 0, size, null);
+            Arrays.fill(orderIds, 0, size, null);
+            Arrays.fill(actors, 0, size, null);
+            Arrays.fill(befores, 0, size, null);
+            Arrays.fill(afters, 0, size, null);
+            Arrays.fill(details, 0, size, null);
+            size = 0;
+            registered = false;
+        }
+    }
+}
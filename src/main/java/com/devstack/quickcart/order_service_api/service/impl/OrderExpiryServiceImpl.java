@@ -0,0 +1,242 @@
+package com.devstack.quickcart.order_service_api.service.impl;
+
+import com.devstack.quickcart.order_service_api.dto.response.OrderExpiryStatsResponseDto;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.service.CustomerOrderService;
+import com.devstack.quickcart.order_service_api.service.OrderExpiryService;
+import com.devstack.quickcart.order_service_api.service.PaymentService;
+import com.devstack.quickcart.order_service_api.sharding.ShardRouter;
+import com.devstack.quickcart.order_service_api.util.TimingWheel;
+import com.devstack.quickcart.order_service_api.util.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Expires orders left PENDING for {@code order.expiry.pending-timeout-ms}. Every
+ * pending order's deadline sits in a {@link TimingWheel}, loaded once at startup
+ * and kept current from status changes, so each tick only looks at orders that
+ * are actually due instead of scanning the table.
+ * <p>
+ * Due orders are rejected in per-shard batches; the database re-checks status
+ * and age under a row lock, so several instances (or a stale wheel entry) never
+ * expire an order twice. Their payment intents are then cancelled on a pool of
+ * {@code order.expiry.cancel-parallelism} threads. Orders created on other
+ * instances are picked up by a short {@code order_date} range scan.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderExpiryServiceImpl implements OrderExpiryService {
+
+    private static final String PENDING = "PENDING";
+    private static final int SCAN_PAGE_SIZE = 1000;
+
+    private final CustomerOrderRepo customerOrderRepo;
+    // the order service notifies this one of status changes, so resolve it lazily
+    private final ObjectProvider<CustomerOrderService> customerOrderService;
+    private final PaymentService paymentService;
+    private final ShardRouter shardRouter;
+
+    @Value("${order.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${order.expiry.pending-timeout-ms:3600000}")
+    private long pendingTimeoutMs;
+
+    @Value("${order.expiry.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${order.expiry.batch-size:200}")
+    private int batchSize;
+
+    @Value("${order.expiry.cancel-parallelism:4}")
+    private int cancelParallelism;
+
+    @Value("${order.expiry.retry-delay-ms:60000}")
+    private long retryDelayMs;
+
+    @Value("${order.expiry.commit-margin-ms:30000}")
+    private long commitMarginMs;
+
+    private volatile TimingWheel<String> wheel;
+    private volatile long lastCatchUpStart;
+    private volatile long lastRebuildMillis;
+    private final LongAdder ordersExpired = new LongAdder();
+    private final LongAdder intentsCancelled = new LongAdder();
+    private final LongAdder cancelFailures = new LongAdder();
+    private ExecutorService cancelExecutor;
+
+    @PostConstruct
+    public void init() {
+        cancelExecutor = Executors.newFixedThreadPool(cancelParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "order-expiry-cancel");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cancelExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void onStatusChanged(String orderId, String status, Date orderDate) {
+        TransactionHooks.afterCommit(() -> {
+            TimingWheel<String> current = wheel;
+            if (current == null) {
+                return;
+            }
+            if (PENDING.equals(status)) {
+                current.schedule(orderId, orderDate.getTime() + pendingTimeoutMs);
+            } else {
+                current.cancel(orderId);
+            }
+        });
+    }
+
+    @Override
+    public void onDeleted(String orderId) {
+        onStatusChanged(orderId, null, null);
+    }
+
+    @Scheduled(fixedDelayString = "${order.expiry.tick-ms:1000}")
+    public void scheduledExpiry() {
+        if (enabled) {
+            expireDueOrders();
+        }
+    }
+
+    @Override
+    public int expireDueOrders() {
+        TimingWheel<String> current = wheel;
+        if (current == null) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        List<String> due = current.advance(now);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        Date createdBefore = new Date(now - pendingTimeoutMs);
+        List<String> intentIds = new ArrayList<>();
+        int expired = 0;
+        Map<Integer, List<String>> byShard = due.stream().collect(Collectors.groupingBy(shardRouter::shardOf));
+        for (List<String> orderIds : byShard.values()) {
+            for (int from = 0; from < orderIds.size(); from += batchSize) {
+                List<String> batch = orderIds.subList(from, Math.min(orderIds.size(), from + batchSize));
+                try {
+                    List<CustomerOrderService.ExpiredOrder> rejected = customerOrderService.getObject().expirePendingOrders(batch, createdBefore);
+                    for (CustomerOrderService.ExpiredOrder order : rejected) {
+                        if (order.intentId() != null) {
+                            intentIds.add(order.intentId());
+                        }
+                    }
+                    expired += rejected.size();
+                } catch (RuntimeException e) {
+                    log.warn("Expiring {} orders failed, retrying in {} ms: {}", batch.size(), retryDelayMs, e.getMessage());
+                    batch.forEach(orderId -> current.schedule(orderId, now + retryDelayMs));
+                }
+            }
+        }
+        ordersExpired.add(expired);
+        cancelIntents(intentIds);
+        return expired;
+    }
+
+    // Stripe calls run on the bounded pool; the tick waits so a slow Stripe slows expiry rather than piling up work.
+    private void cancelIntents(List<String> intentIds) {
+        if (intentIds.isEmpty()) {
+            return;
+        }
+        CompletableFuture<?>[] cancellations = intentIds.stream()
+                .map(intentId -> CompletableFuture.runAsync(() -> cancelIntent(intentId), cancelExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(cancellations).join();
+    }
+
+    private void cancelIntent(String intentId) {
+        try {
+            paymentService.cancelPayment(intentId);
+            intentsCancelled.increment();
+        } catch (RuntimeException e) {
+            // typically already cancelled or paid; a late payment confirms the order through the webhook
+            cancelFailures.increment();
+            log.warn("Cancelling payment intent {} of an expired order failed: {}", intentId, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.expiry.catch-up-interval-ms:60000}")
+    public void catchUp() {
+        TimingWheel<String> current = wheel;
+        if (!enabled || current == null) {
+            return;
+        }
+        long scanStart = System.currentTimeMillis();
+        Date since = new Date(lastCatchUpStart - commitMarginMs);
+        for (List<CustomerOrderRepo.OrderKey> keys : shardRouter.scatter(shard -> customerOrderRepo.findKeysInStatusSince(PENDING, since))) {
+            keys.forEach(key -> current.schedule(key.getOrderId(), key.getOrderDate().getTime() + pendingTimeoutMs));
+        }
+        lastCatchUpStart = scanStart;
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        TimingWheel<String> rebuilt = new TimingWheel<>(tickMs, started);
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            String lastId = "";
+            List<CustomerOrderRepo.OrderKey> page;
+            do {
+                String after = lastId;
+                page = shardRouter.inShard(shard, () -> customerOrderRepo.findKeysInStatusAfter(PENDING, after, SCAN_PAGE_SIZE));
+                for (CustomerOrderRepo.OrderKey key : page) {
+                    rebuilt.schedule(key.getOrderId(), key.getOrderDate().getTime() + pendingTimeoutMs);
+                    lastId = key.getOrderId();
+                }
+            } while (page.size() == SCAN_PAGE_SIZE);
+        }
+        wheel = rebuilt;
+        lastCatchUpStart = started;
+        // orders created while the scan was paging
+        catchUp();
+        lastRebuildMillis = System.currentTimeMillis() - started;
+        log.info("Order expiry wheel rebuilt with {} pending orders in {} ms", rebuilt.size(), lastRebuildMillis);
+    }
+
+    @Override
+    public OrderExpiryStatsResponseDto getStats() {
+        TimingWheel<String> current = wheel;
+        return OrderExpiryStatsResponseDto.builder()
+                .ready(current != null)
+                .trackedOrders(current == null ? 0 : current.size())
+                .pendingTimeoutMs(pendingTimeoutMs)
+                .ordersExpired(ordersExpired.sum())
+                .intentsCancelled(intentsCancelled.sum())
+                .cancelFailures(cancelFailures.sum())
+                .lastRebuildMillis(lastRebuildMillis)
+                .build();
+    }
+}
@@ -0,0 +1,245 @@
+package com.devstack.quickcart.order_service_api.service.impl;
+
+import com.devstack.quickcart.order_service_api.dto.response.LookupFilterStatsResponseDto;
+import com.devstack.quickcart.order_service_api.repo.ArchivedOrderRepo;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.service.OrderLookupFilterService;
+import com.devstack.quickcart.order_service_api.sharding.ShardRouter;
+import com.devstack.quickcart.order_service_api.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filters over every order id (live and archived) and intent id, so
+ * lookups for ids that never existed are rejected without a query.
+ * <p>
+ * Other instances create orders this one never sees, so the filters are topped
+ * up from a cheap {@code order_date} range scan every few seconds. A miss is only
+ * trusted for order ids created before the last scan minus
+ * {@code negative-lookup.commit-margin-ms}; newer ids still go to the database.
+ * Intent ids carry no timestamp, so an intent miss first triggers a top-up (at
+ * most one per {@code min-on-demand-refresh-ms}). Deleted ids cannot be removed
+ * from a Bloom filter; they only cost a query until the next rebuild.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderLookupFilterServiceImpl implements OrderLookupFilterService {
+
+    private static final int SCAN_PAGE_SIZE = 1000;
+    private static final long MIN_CAPACITY = 10_000;
+
+    private final CustomerOrderRepo customerOrderRepo;
+    private final ArchivedOrderRepo archivedOrderRepo;
+    private final ShardRouter shardRouter;
+
+    @Value("${negative-lookup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${negative-lookup.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${negative-lookup.headroom:1.5}")
+    private double headroom;
+
+    @Value("${negative-lookup.commit-margin-ms:30000}")
+    private long commitMarginMs;
+
+    @Value("${negative-lookup.min-on-demand-refresh-ms:1000}")
+    private long minOnDemandRefreshMs;
+
+    private volatile Filters filters;
+    private volatile long lastScanStart;
+    private volatile long coveredUntil;
+    private volatile long lastRebuildMillis;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder deletesSinceRebuild = new LongAdder();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${negative-lookup.rebuild-cron:0 15 * * * *}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${negative-lookup.refresh-interval-ms:5000}")
+    public void scheduledRefresh() {
+        if (enabled) {
+            refresh();
+        }
+    }
+
+    @Override
+    public boolean mightContainOrder(String orderId) {
+        Filters current = filters;
+        if (current == null) {
+            return true;
+        }
+        lookups.increment();
+        if (current.orders().mightContain(orderId) || shardRouter.createdAtMillis(orderId) >= coveredUntil) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    @Override
+    public boolean mightContainIntent(String intentId) {
+        Filters current = filters;
+        if (current == null) {
+            return true;
+        }
+        lookups.increment();
+        if (current.intents().mightContain(intentId)) {
+            return true;
+        }
+        refreshIfOlderThan(minOnDemandRefreshMs);
+        if (filters.intents().mightContain(intentId)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    @Override
+    public void recordOrderCreated(String orderId, String intentId) {
+        Filters current = filters;
+        if (current != null) {
+            current.orders().put(orderId);
+            if (intentId != null) {
+                current.intents().put(intentId);
+            }
+        }
+    }
+
+    @Override
+    public void recordOrderDeleted(String orderId) {
+        deletesSinceRebuild.increment();
+    }
+
+    @Override
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    @Override
+    public void refresh() {
+        refreshIfOlderThan(0);
+    }
+
+    private synchronized void refreshIfOlderThan(long ageMillis) {
+        Filters current = filters;
+        long scanStart = System.currentTimeMillis();
+        if (current == null || scanStart - lastScanStart < ageMillis) {
+            return;
+        }
+        Date since = new Date(lastScanStart - commitMarginMs);
+        for (List<CustomerOrderRepo.OrderIds> rows : shardRouter.scatter(shard -> customerOrderRepo.findIdPairsSince(since))) {
+            rows.forEach(row -> add(current, row));
+        }
+        lastScanStart = scanStart;
+        coveredUntil = scanStart - commitMarginMs;
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        long liveOrders = shardRouter.scatter(shard -> customerOrderRepo.count()).stream().mapToLong(Long::longValue).sum();
+        long archivedOrders = shardRouter.scatter(shard -> archivedOrderRepo.count()).stream().mapToLong(Long::longValue).sum();
+        Filters rebuilt = new Filters(
+                BloomFilter.create(capacity(liveOrders + archivedOrders), falsePositiveRate),
+                BloomFilter.create(capacity(liveOrders), falsePositiveRate));
+
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            String lastId = "";
+            List<CustomerOrderRepo.OrderIds> page;
+            do {
+                String after = lastId;
+                page = shardRouter.inShard(shard, () -> customerOrderRepo.findIdPairsAfter(after, SCAN_PAGE_SIZE));
+                for (CustomerOrderRepo.OrderIds row : page) {
+                    add(rebuilt, row);
+                    lastId = row.getOrderId();
+                }
+            } while (page.size() == SCAN_PAGE_SIZE);
+
+            lastId = "";
+            List<String> archivedPage;
+            do {
+                String after = lastId;
+                archivedPage = shardRouter.inShard(shard, () -> archivedOrderRepo.findIdsAfter(after, SCAN_PAGE_SIZE));
+                for (String orderId : archivedPage) {
+                    rebuilt.orders().put(orderId);
+                    lastId = orderId;
+                }
+            } while (archivedPage.size() == SCAN_PAGE_SIZE);
+        }
+
+        filters = rebuilt;
+        lastScanStart = started;
+        // picks up orders committed while the scan was paging
+        refresh();
+        deletesSinceRebuild.reset();
+        lastRebuildMillis = System.currentTimeMillis() - started;
+        log.info("Order lookup filter rebuilt over {} order ids and {} intent ids in {} ms, estimated false-positive rate {}",
+                rebuilt.orders().getInsertions(), rebuilt.intents().getInsertions(), lastRebuildMillis,
+                String.format("%.4f", rebuilt.orders().estimatedFalsePositiveRate()));
+    }
+
+    @Override
+    public LookupFilterStatsResponseDto getStats() {
+        Filters current = filters;
+        long rejectedCount = rejected.sum();
+        long falsePositiveCount = falsePositives.sum();
+        LookupFilterStatsResponseDto.LookupFilterStatsResponseDtoBuilder stats = LookupFilterStatsResponseDto.builder()
+                .ready(current != null)
+                .lookups(lookups.sum())
+                .rejected(rejectedCount)
+                .falsePositives(falsePositiveCount)
+                .observedFalsePositiveRate(rejectedCount + falsePositiveCount == 0 ? 0
+                        : (double) falsePositiveCount / (rejectedCount + falsePositiveCount))
+                .deletesSinceRebuild(deletesSinceRebuild.sum())
+                .lastRebuildMillis(lastRebuildMillis)
+                .coveredUntil(coveredUntil);
+        if (current != null) {
+            stats.orderIds(current.orders().getInsertions())
+                    .intentIds(current.intents().getInsertions())
+                    .bitsPerFilter(current.orders().getBitCount())
+                    .hashFunctions(current.orders().getHashFunctions())
+                    .estimatedOrderFalsePositiveRate(current.orders().estimatedFalsePositiveRate())
+                    .estimatedIntentFalsePositiveRate(current.intents().estimatedFalsePositiveRate());
+        }
+        return stats.build();
+    }
+
+    private long capacity(long existing) {
+        return Math.max(MIN_CAPACITY, (long) (existing * headroom));
+    }
+
+    private static void add(Filters target, CustomerOrderRepo.OrderIds row) {
+        target.orders().put(row.getOrderId());
+        if (row.getIntentId() != null) {
+            target.intents().put(row.getIntentId());
+        }
+    }
+
+    private record Filters(BloomFilter orders, BloomFilter intents) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.devstack.quickcart.order_service_api.service.impl;
+
+import com.devstack.quickcart.order_service_api.dto.response.PurgeStatsResponseDto;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.repo.OrderDetailRepo;
+import com.devstack.quickcart.order_service_api.service.OrderPurgeService;
+import com.devstack.quickcart.order_service_api.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hard-deletes orders that {@code deleteById} flagged with {@code deleted_at}.
+ * Each batch removes up to {@code purge.batch-size} orders with one
+ * {@code order_detail} and one {@code customer_order} statement in its own
+ * transaction, pausing between batches so purging never hogs a shard. Rows
+ * are left alone for {@code purge.grace-ms} so requests that read them just
+ * before the delete still finish normally.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderPurgeServiceImpl implements OrderPurgeService {
+
+    private final CustomerOrderRepo customerOrderRepo;
+    private final OrderDetailRepo orderDetailRepo;
+    private final ShardRouter shardRouter;
+
+    @Value("${purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${purge.grace-ms:60000}")
+    private long graceMs;
+
+    @Value("${purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${purge.batch-pause-ms:100}")
+    private long batchPauseMs;
+
+    @Value("${purge.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    private final AtomicLong ordersPurged = new AtomicLong();
+    private final AtomicLong detailRowsPurged = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchNanos = new AtomicLong();
+    private volatile long lastRunOrders;
+    private volatile long lastRunMillis;
+
+    @Scheduled(fixedDelayString = "${purge.interval-ms:30000}")
+    public void scheduledPurge() {
+        if (enabled) {
+            purgeDeletedOrders();
+        }
+    }
+
+    @Override
+    public synchronized int purgeDeletedOrders() {
+        long started = System.currentTimeMillis();
+        Date deletedBefore = new Date(started - graceMs);
+        int total = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount() && !Thread.currentThread().isInterrupted(); shard++) {
+            total += purgeShard(shard, deletedBefore);
+        }
+        lastRunOrders = total;
+        lastRunMillis = System.currentTimeMillis() - started;
+        if (total > 0) {
+            log.info("Purged {} soft-deleted orders in {} ms", total, lastRunMillis);
+        }
+        return total;
+    }
+
+    private int purgeShard(int shard, Date deletedBefore) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            long started = System.nanoTime();
+            Integer purged = shardRouter.inShard(shard, () -> purgeBatch(deletedBefore));
+            batches.incrementAndGet();
+            batchNanos.addAndGet(System.nanoTime() - started);
+            if (purged == null || purged == 0) {
+                break;
+            }
+            total += purged;
+            if (purged < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int purgeBatch(Date deletedBefore) {
+        List<String> ids = customerOrderRepo.findSoftDeletedIds(deletedBefore, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int details = orderDetailRepo.deleteByOrderIds(ids);
+        int orders = customerOrderRepo.deleteByOrderIds(ids);
+        ordersPurged.addAndGet(orders);
+        detailRowsPurged.addAndGet(details);
+        return ids.size();
+    }
+
+    @Override
+    public PurgeStatsResponseDto getStats() {
+        long awaiting = 0;
+        Date oldest = null;
+        for (CustomerOrderRepo.PurgeBacklog backlog : shardRouter.scatter(shard -> customerOrderRepo.purgeBacklog())) {
+            awaiting += backlog.getOrderCount() == null ? 0 : backlog.getOrderCount();
+            Date shardOldest = backlog.getOldestDeletedAt();
+            if (shardOldest != null && (oldest == null || shardOldest.before(oldest))) {
+                oldest = shardOldest;
+            }
+        }
+        long batchCount = batches.get();
+        return PurgeStatsResponseDto.builder()
+                .awaitingPurge(awaiting)
+                .oldestDeletedAt(oldest)
+                .ordersPurgedSinceStart(ordersPurged.get())
+                .detailRowsPurgedSinceStart(detailRowsPurged.get())
+                .batchesSinceStart(batchCount)
+                .batchAvgMillis(batchCount == 0 ? 0 : batchNanos.get() / 1_000_000.0 / batchCount)
+                .lastRunOrders(lastRunOrders)
+                .lastRunMillis(lastRunMillis)
+                .build();
+    }
+}
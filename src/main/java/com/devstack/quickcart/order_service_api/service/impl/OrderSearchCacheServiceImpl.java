@@ -0,0 +1,161 @@
+package com.devstack.quickcart.order_service_api.service.impl;
+
+import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.SearchCacheStatsResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.paginate.CustomerOrderPaginateDto;
+import com.devstack.quickcart.order_service_api.service.OrderSearchCacheService;
+import com.devstack.quickcart.order_service_api.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Keeps recent {@code searchAll} pages, count included, for
+ * {@code search-cache.ttl-ms}. Every committed order write bumps one version
+ * counter; an entry remembers the version it was loaded under and is simply
+ * ignored once that moved on, so invalidation never walks the cache. The
+ * version is read before the page is loaded and bumped after commit, so a page
+ * that raced a write is stale the moment it is stored. Writes on other
+ * instances are only bounded by the TTL. Entries are kept in LRU order and
+ * evicted once their estimated size passes {@code search-cache.max-weight-bytes}.
+ */
+@Service
+public class OrderSearchCacheServiceImpl implements OrderSearchCacheService {
+
+    // rough heap cost of the DTOs; order strings are counted separately, a line includes its two ids
+    private static final int PAGE_WEIGHT = 96;
+    private static final int ORDER_WEIGHT = 160;
+    private static final int LINE_WEIGHT = 240;
+
+    @Value("${search-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search-cache.ttl-ms:2000}")
+    private long ttlMs;
+
+    @Value("${search-cache.max-weight-bytes:16777216}")
+    private long maxWeightBytes;
+
+    private final AtomicLong writeVersion = new AtomicLong();
+    private final Map<SearchKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weightBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleMisses = new LongAdder();
+    private final LongAdder expiredMisses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Override
+    public CustomerOrderPaginateDto get(String searchText, int page, int size, Supplier<CustomerOrderPaginateDto> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        SearchKey key = new SearchKey(searchText == null ? "" : searchText, page, size);
+        long version = writeVersion.get();
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.version() == version && entry.expiresAt() > now) {
+                    hits.increment();
+                    return entry.page();
+                }
+                (entry.version() != version ? staleMisses : expiredMisses).increment();
+                remove(key);
+            }
+        }
+        misses.increment();
+        CustomerOrderPaginateDto loaded = loader.get();
+        long weight = weigh(key, loaded);
+        if (weight <= maxWeightBytes && version == writeVersion.get()) {
+            synchronized (entries) {
+                remove(key);
+                entries.put(key, new Entry(loaded, version, System.currentTimeMillis() + ttlMs, weight));
+                weightBytes += weight;
+                evictOverWeight();
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public void recordWrite() {
+        TransactionHooks.afterCommit(writeVersion::incrementAndGet);
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            weightBytes = 0;
+        }
+    }
+
+    @Override
+    public SearchCacheStatsResponseDto getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        synchronized (entries) {
+            return SearchCacheStatsResponseDto.builder()
+                    .enabled(enabled)
+                    .entries(entries.size())
+                    .weightBytes(weightBytes)
+                    .maxWeightBytes(maxWeightBytes)
+                    .writeVersion(writeVersion.get())
+                    .hits(hitCount)
+                    .misses(missCount)
+                    .staleMisses(staleMisses.sum())
+                    .expiredMisses(expiredMisses.sum())
+                    .evictions(evictions.sum())
+                    .hitRatio(hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount))
+                    .build();
+        }
+    }
+
+    private void remove(SearchKey key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            weightBytes -= removed.weight();
+        }
+    }
+
+    private void evictOverWeight() {
+        Iterator<Entry> eldestFirst = entries.values().iterator();
+        while (weightBytes > maxWeightBytes && eldestFirst.hasNext()) {
+            weightBytes -= eldestFirst.next().weight();
+            eldestFirst.remove();
+            evictions.increment();
+        }
+    }
+
+    private static long weigh(SearchKey key, CustomerOrderPaginateDto page) {
+        long weight = PAGE_WEIGHT + chars(key.searchText());
+        if (page.getDataList() == null) {
+            return weight;
+        }
+        for (CustomerOrderResponseDto order : page.getDataList()) {
+            weight += ORDER_WEIGHT + chars(order.getOrderId()) + chars(order.getUserId())
+                    + chars(order.getRemark()) + chars(order.getStatus());
+            if (order.getOrderDetails() != null) {
+                weight += (long) order.getOrderDetails().size() * LINE_WEIGHT;
+            }
+        }
+        return weight;
+    }
+
+    private static long chars(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+
+    private record SearchKey(String searchText, int page, int size) {
+    }
+
+    private record Entry(CustomerOrderPaginateDto page, long version, long expiresAt, long weight) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.devstack.quickcart.order_service_api.service.impl;
+
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.service.OrderSearchCacheService;
+import com.devstack.quickcart.order_service_api.service.OrderSnapshotService;
+import com.devstack.quickcart.order_service_api.sharding.ShardRouter;
+import com.devstack.quickcart.order_service_api.util.LineSnapshotCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Re-derives every order's line snapshot from {@code order_detail} and
+ * {@code order_status}, which stay the source of truth, and rewrites the ones
+ * that drifted. Walks each shard by order id in batches, one transaction each.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSnapshotServiceImpl implements OrderSnapshotService {
+
+    private final CustomerOrderRepo customerOrderRepo;
+    private final LineSnapshotCodec lineSnapshotCodec;
+    private final ShardRouter shardRouter;
+    private final OrderSearchCacheService orderSearchCacheService;
+
+    @Value("${snapshot.verify.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${snapshot.verify.cron:0 0 4 * * *}")
+    public void scheduledVerify() {
+        verifySnapshots();
+    }
+
+    @Override
+    public synchronized int verifySnapshots() {
+        long started = System.currentTimeMillis();
+        long checked = 0;
+        int repaired = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            String lastId = "";
+            BatchResult batch;
+            do {
+                String after = lastId;
+                batch = shardRouter.inShard(shard, () -> verifyBatch(after));
+                checked += batch.checked();
+                repaired += batch.repaired();
+                lastId = batch.lastId();
+            } while (batch.checked() == batchSize);
+        }
+        if (repaired > 0) {
+            log.warn("Line snapshots: {} of {} orders had drifted and were rewritten in {} ms", repaired, checked, System.currentTimeMillis() - started);
+        } else {
+            log.info("Line snapshots: {} orders checked, all consistent, {} ms", checked, System.currentTimeMillis() - started);
+        }
+        return repaired;
+    }
+
+    private BatchResult verifyBatch(String afterId) {
+        List<String> ids = customerOrderRepo.findIdsAfter(afterId, batchSize);
+        if (ids.isEmpty()) {
+            return new BatchResult(0, 0, afterId);
+        }
+        int repaired = 0;
+        for (CustomerOrder order : customerOrderRepo.findAllWithProducts(ids)) {
+            String expected = lineSnapshotCodec.encode(order.getOrderStatus().getStatus(), order.getProducts());
+            if (!Objects.equals(expected, order.getLineSnapshot())) {
+                String seen = order.getLineSnapshot() == null ? "" : order.getLineSnapshot();
+                repaired += customerOrderRepo.replaceLineSnapshot(order.getOrderId(), seen, expected);
+            }
+        }
+        if (repaired > 0) {
+            orderSearchCacheService.recordWrite();
+        }
+        return new BatchResult(ids.size(), repaired, ids.get(ids.size() - 1));
+    }
+
+    private record BatchResult(int checked, int repaired, String lastId) {
+    }
+}
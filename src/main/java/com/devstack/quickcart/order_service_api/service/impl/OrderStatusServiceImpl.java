@@ -3,37 +3,39 @@ package com.devstack.quickcart.order_service_api.service.impl;
 import com.devstack.quickcart.order_service_api.entity.OrderStatus;
 import com.devstack.quickcart.order_service_api.repo.OrderStatusRepo;
 import com.devstack.quickcart.order_service_api.service.OrderStatusService;
+import com.devstack.quickcart.order_service_api.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class OrderStatusServiceImpl implements OrderStatusService {
 
+    private static final List<String> STATUSES =
+            List.of("PENDING", "COMPLETED", "REJECTED_BY_USER", "REJECTED_BY_ADMIN", "REJECTED_BY_SYSTEM");
+
     private final OrderStatusRepo orderStatusRepo;
+    private final ShardRouter shardRouter;
 
     @Override
     public void initializeStatusList() {
-        long count = orderStatusRepo.count();
-        if (count == 0) {
-            orderStatusRepo.saveAll(
-                    List.of(
-                            OrderStatus.builder()
-                                    .status("PENDING")
-                                    .build(),
-                            OrderStatus.builder()
-                                    .status("COMPLETED")
-                                    .build(),
-                            OrderStatus.builder()
-                                    .status("REJECTED_BY_USER")
-                                    .build(),
-                            OrderStatus.builder()
-                                    .status("REJECTED_BY_ADMIN")
-                                    .build()
-                    )
-            );
+        // every shard keeps its own copy, orders reference statuses by foreign key
+        shardRouter.forEachShard(shard -> initializeShard());
+    }
+
+    private void initializeShard() {
+        // existing databases get statuses added after they were first seeded
+        Set<String> existing = orderStatusRepo.findAll().stream().map(OrderStatus::getStatus).collect(Collectors.toSet());
+        List<OrderStatus> missing = STATUSES.stream()
+                .filter(status -> !existing.contains(status))
+                .map(status -> OrderStatus.builder().status(status).build())
+                .toList();
+        if (!missing.isEmpty()) {
+            orderStatusRepo.saveAll(missing);
         }
     }
 }
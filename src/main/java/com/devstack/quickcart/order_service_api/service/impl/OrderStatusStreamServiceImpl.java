@@ -0,0 +1,292 @@
+package com.devstack.quickcart.order_service_api.service.impl;
+
+import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.OrderStatusEventDto;
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+import com.devstack.quickcart.order_service_api.exception.TooManyRequestsException;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import com.devstack.quickcart.order_service_api.service.CustomerOrderService;
+import com.devstack.quickcart.order_service_api.service.OrderStatusStreamService;
+import com.devstack.quickcart.order_service_api.util.TransactionHooks;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes order status and remark changes to SSE subscribers once the change has
+ * committed. Idle streams hold no request thread (async servlet), and each event
+ * is serialized once and written to every subscriber from a small dispatch pool.
+ * Each dispatch thread owns a fixed slice of order ids, so the events of one order
+ * reach every subscriber in the order they were published. Heartbeats go through
+ * the same threads, so a slow client never holds up the shared scheduler.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderStatusStreamServiceImpl implements OrderStatusStreamService {
+
+    private static final String EVENT_NAME = "order-status";
+
+    // the order service publishes to this one, so resolve it lazily
+    private final ObjectProvider<CustomerOrderService> customerOrderService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${order.stream.max-connections:5000}")
+    private int maxConnections;
+
+    @Value("${order.stream.max-connections-per-key:5}")
+    private int maxConnectionsPerKey;
+
+    @Value("${order.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${order.stream.dispatch-threads:2}")
+    private int dispatchThreads;
+
+    private final Map<String, Set<Subscription>> orderSubscriptions = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscription>> userSubscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private ExecutorService[] dispatchers;
+
+    @PostConstruct
+    public void init() {
+        dispatchers = new ExecutorService[Math.max(1, dispatchThreads)];
+        for (int i = 0; i < dispatchers.length; i++) {
+            String name = "order-stream-dispatch-" + i;
+            dispatchers[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService dispatcher : dispatchers) {
+            dispatcher.shutdownNow();
+        }
+        orderSubscriptions.values().forEach(subs -> subs.forEach(Subscription::complete));
+        userSubscriptions.values().forEach(subs -> subs.forEach(Subscription::complete));
+    }
+
+    @Override
+    public SseEmitter subscribeToOrder(String orderId) {
+        // registered before the read, so an update committed in between is not lost;
+        // updates that reach the stream first are held back until the snapshot is out
+        Subscription subscription = register(orderSubscriptions, orderId, true);
+        CustomerOrderResponseDto order;
+        try {
+            // same filter and archive fallback as GET /customer-orders/{id}
+            order = customerOrderService.getObject().findOrderById(orderId);
+        } catch (RuntimeException e) {
+            subscription.complete();
+            throw e;
+        }
+        String json = toJson(toEvent(order, "SNAPSHOT"));
+        dispatcherFor(orderId).execute(() -> subscription.sendSnapshot(json));
+        return subscription.emitter;
+    }
+
+    @Override
+    public SseEmitter subscribeToUser(AuthenticatedUser user) {
+        return register(userSubscriptions, user.getEmail(), false).emitter;
+    }
+
+    @Override
+    public void publishUpdate(CustomerOrder order) {
+        OrderStatusEventDto event = toEvent(order, "UPDATED");
+        String userId = order.getUserId();
+        TransactionHooks.afterCommit(() -> dispatch(event, userId, false));
+    }
+
+    @Override
+    public void publishDelete(CustomerOrderResponseDto order) {
+        OrderStatusEventDto event = toEvent(order, "DELETED");
+        String userId = order.getUserId();
+        TransactionHooks.afterCommit(() -> dispatch(event, userId, true));
+    }
+
+    // Keeps idle connections alive through proxies and weeds out clients that went away.
+    @Scheduled(fixedDelayString = "${order.stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        orderSubscriptions.forEach((orderId, subs) -> dispatcherFor(orderId).execute(() -> subs.forEach(Subscription::ping)));
+        userSubscriptions.forEach((userId, subs) -> dispatcherFor(userId).execute(() -> subs.forEach(Subscription::ping)));
+    }
+
+    private void dispatch(OrderStatusEventDto event, String userId, boolean last) {
+        Set<Subscription> byOrder = orderSubscriptions.get(event.getOrderId());
+        Set<Subscription> byUser = userSubscriptions.get(userId);
+        if (byOrder == null && byUser == null) {
+            return;
+        }
+        String json = toJson(event);
+        dispatcherFor(event.getOrderId()).execute(() -> {
+            if (byOrder != null) {
+                byOrder.forEach(s -> {
+                    if (last) {
+                        s.sendLast(json);
+                    } else {
+                        s.send(json);
+                    }
+                });
+            }
+            if (byUser != null) {
+                byUser.forEach(s -> s.send(json));
+            }
+        });
+    }
+
+    private ExecutorService dispatcherFor(String orderId) {
+        return dispatchers[Math.floorMod(orderId.hashCode(), dispatchers.length)];
+    }
+
+    // Overridable so tests can observe what is written to a stream.
+    protected SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private Subscription register(Map<String, Set<Subscription>> index, String key, boolean snapshotFirst) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new TooManyRequestsException("Too many open order streams, please retry later");
+        }
+        Subscription subscription = new Subscription(newEmitter(timeoutMs), index, key, snapshotFirst);
+        try {
+            index.compute(key, (k, subs) -> {
+                Set<Subscription> set = subs != null ? subs : ConcurrentHashMap.newKeySet();
+                if (set.size() >= maxConnectionsPerKey) {
+                    throw new TooManyRequestsException(String.format("Too many open streams for %s", k));
+                }
+                set.add(subscription);
+                return set;
+            });
+        } catch (TooManyRequestsException e) {
+            connections.decrementAndGet();
+            throw e;
+        }
+        subscription.emitter.onCompletion(subscription::release);
+        subscription.emitter.onTimeout(subscription::release);
+        subscription.emitter.onError(e -> subscription.release());
+        return subscription;
+    }
+
+    private OrderStatusEventDto toEvent(CustomerOrder order, String type) {
+        return OrderStatusEventDto.builder()
+                .orderId(order.getOrderId())
+                .type(type)
+                .status(order.getOrderStatus() != null ? order.getOrderStatus().getStatus() : null)
+                .remark(order.getRemark())
+                .timestamp(new Date())
+                .build();
+    }
+
+    private OrderStatusEventDto toEvent(CustomerOrderResponseDto order, String type) {
+        return OrderStatusEventDto.builder()
+                .orderId(order.getOrderId())
+                .type(type)
+                .status(order.getStatus())
+                .remark(order.getRemark())
+                .timestamp(new Date())
+                .build();
+    }
+
+    private String toJson(OrderStatusEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize order status event", e);
+        }
+    }
+
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private final Map<String, Set<Subscription>> index;
+        private final String key;
+        private final AtomicBoolean released = new AtomicBoolean();
+        // events that beat the snapshot; only touched on the order's dispatch thread
+        private List<String> heldBack;
+        private boolean completeAfterSnapshot;
+
+        private Subscription(SseEmitter emitter, Map<String, Set<Subscription>> index, String key, boolean snapshotFirst) {
+            this.emitter = emitter;
+            this.index = index;
+            this.key = key;
+            this.heldBack = snapshotFirst ? new ArrayList<>() : null;
+        }
+
+        private void sendSnapshot(String json) {
+            List<String> pending = heldBack;
+            heldBack = null;
+            send(json);
+            pending.forEach(this::send);
+            if (completeAfterSnapshot) {
+                complete();
+            }
+        }
+
+        private void sendLast(String json) {
+            send(json);
+            if (heldBack != null) {
+                completeAfterSnapshot = true;
+            } else {
+                complete();
+            }
+        }
+
+        private void send(String json) {
+            if (heldBack != null) {
+                heldBack.add(json);
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).data(json));
+            } catch (IOException | IllegalStateException e) {
+                // the container completes the emitter itself when the write fails
+                release();
+            }
+        }
+
+        private void ping() {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                release();
+            }
+        }
+
+        private void complete() {
+            release();
+            emitter.complete();
+        }
+
+        private void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            connections.decrementAndGet();
+            index.computeIfPresent(key, (k, subs) -> {
+                subs.remove(this);
+                return subs.isEmpty() ? null : subs;
+            });
+        }
+    }
+}
@@ -2,11 +2,16 @@ package com.devstack.quickcart.order_service_api.service.impl;
 
 import com.devstack.quickcart.order_service_api.dto.request.PaymentRequestDto;
 import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.StripeTransportStatsResponseDto;
+import com.devstack.quickcart.order_service_api.jfr.StripeCallEvent;
 import com.devstack.quickcart.order_service_api.service.PaymentService;
+import com.devstack.quickcart.order_service_api.stripe.PooledStripeHttpClient;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Event;
 import com.stripe.model.PaymentIntent;
+import com.stripe.net.ApiResource;
+import com.stripe.net.LiveStripeResponseGetter;
 import com.stripe.net.Webhook;
 import com.stripe.param.PaymentIntentCreateParams;
 import jakarta.annotation.PostConstruct;
@@ -18,15 +23,24 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 
+    private final PooledStripeHttpClient stripeHttpClient;
+
     @Value("${stripe.secret.key}")
     private String stripeSecretKey;
 
     @Value("${stripe.webhook.secret}")
     private String webhookSecret;
 
+    @Value("${stripe.api.base:" + Stripe.LIVE_API_BASE + "}")
+    private String stripeApiBase;
+
     @PostConstruct
     public void init() {
         Stripe.apiKey = stripeSecretKey;
+        Stripe.overrideApiBase(stripeApiBase);
+        // all static PaymentIntent calls go through the pooled client, which owns retries
+        Stripe.setMaxNetworkRetries(0);
+        ApiResource.setGlobalResponseGetter(new LiveStripeResponseGetter(stripeHttpClient));
     }
 
 
@@ -61,7 +75,7 @@ public class PaymentServiceImpl implements PaymentService {
                 }
             }
 
-            PaymentIntent paymentIntent = PaymentIntent.create(paramsBuilder.build());
+            PaymentIntent paymentIntent = traced("create", null, () -> PaymentIntent.create(paramsBuilder.build()));
 
             return PaymentResponseDto.builder()
                     .paymentIntentId(paymentIntent.getId())
@@ -80,8 +94,8 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     public PaymentResponseDto confirmPayment(String paymentIntentId) {
         try {
-            PaymentIntent paymentIntent = PaymentIntent.retrieve(paymentIntentId);
-            paymentIntent = paymentIntent.confirm();
+            PaymentIntent paymentIntent = traced("retrieve", paymentIntentId, () -> PaymentIntent.retrieve(paymentIntentId));
+            paymentIntent = traced("confirm", paymentIntentId, paymentIntent::confirm);
 
             return PaymentResponseDto.builder()
                     .paymentIntentId(paymentIntent.getId())
@@ -99,8 +113,8 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     public PaymentResponseDto cancelPayment(String paymentIntentId) {
         try {
-            PaymentIntent paymentIntent = PaymentIntent.retrieve(paymentIntentId);
-            paymentIntent = paymentIntent.cancel();
+            PaymentIntent paymentIntent = traced("retrieve", paymentIntentId, () -> PaymentIntent.retrieve(paymentIntentId));
+            paymentIntent = traced("cancel", paymentIntentId, paymentIntent::cancel);
 
             return PaymentResponseDto.builder()
                     .paymentIntentId(paymentIntent.getId())
@@ -115,7 +129,7 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     public PaymentResponseDto getPaymentStatus(String paymentIntentId) {
         try {
-            PaymentIntent paymentIntent = PaymentIntent.retrieve(paymentIntentId);
+            PaymentIntent paymentIntent = traced("retrieve", paymentIntentId, () -> PaymentIntent.retrieve(paymentIntentId));
 
             return PaymentResponseDto.builder()
                     .paymentIntentId(paymentIntent.getId())
@@ -130,6 +144,11 @@ public class PaymentServiceImpl implements PaymentService {
         }
     }
 
+    @Override
+    public StripeTransportStatsResponseDto getTransportStats() {
+        return stripeHttpClient.getStats();
+    }
+
     @Override
     public void handleWebhook(String payload, String signature) {
         try {
@@ -154,6 +173,25 @@ public class PaymentServiceImpl implements PaymentService {
         }
     }
 
+    // Each Stripe round trip shows up as a StripeCallEvent in flight recordings.
+    private static <T> T traced(String operation, String paymentIntentId, StripeCall<T> call) throws StripeException {
+        StripeCallEvent event = new StripeCallEvent(operation, paymentIntentId);
+        event.begin();
+        try {
+            return call.run();
+        } catch (StripeException e) {
+            event.setErrorCode(e.getCode() != null ? e.getCode() : e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @FunctionalInterface
+    private interface StripeCall<T> {
+        T run() throws StripeException;
+    }
+
     private void handlePaymentSucceeded(Event event) {
         PaymentIntent paymentIntent = (PaymentIntent) event.getDataObjectDeserializer().getObject().orElse(null);
         if (paymentIntent != null) {
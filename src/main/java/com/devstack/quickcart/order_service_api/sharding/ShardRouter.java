@@ -0,0 +1,162 @@
+package com.devstack.quickcart.order_service_api.sharding;
+
+import com.devstack.quickcart.order_service_api.exception.EntryNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Places orders on shards and runs work against one or all of them. Orders go to
+ * the shard picked by a hash of their user id, and the shard number is written
+ * into the order id ({@code ORD-S<shard>-<millis>-<random>}) so a lookup by id
+ * touches a single shard. Ids without the marker predate sharding and live on
+ * shard 0.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardRouter {
+
+    private static final String LEGACY_ID_PREFIX = "ORD-";
+    private static final String SHARDED_ID_PREFIX = "ORD-S";
+
+    private final ShardingProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    private int shardCount;
+    private TransactionTemplate shardTransaction;
+    private ExecutorService scatterPool;
+
+    @PostConstruct
+    public void init() {
+        shardCount = properties.getShardCount();
+        shardTransaction = new TransactionTemplate(transactionManager);
+        shardTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (shardCount > 1) {
+            AtomicInteger threadCount = new AtomicInteger();
+            scatterPool = Executors.newFixedThreadPool(Math.max(shardCount, properties.getScatterThreads()), r -> {
+                Thread thread = new Thread(r, "shard-scatter-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterPool != null) {
+            scatterPool.shutdownNow();
+        }
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardForUser(String userId) {
+        int h = userId.hashCode();
+        // spread the bits, String.hashCode clusters on common prefixes such as email domains
+        h ^= h >>> 16;
+        h *= 0x45d9f3b;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shardCount);
+    }
+
+    public String newOrderId(int shard) {
+        return SHARDED_ID_PREFIX + shard + "-" + System.currentTimeMillis() + "-" +
+                UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    public int shardOf(String orderId) {
+        if (orderId == null || !orderId.startsWith(SHARDED_ID_PREFIX)) {
+            return 0;
+        }
+        int end = orderId.indexOf('-', SHARDED_ID_PREFIX.length());
+        int shard;
+        try {
+            shard = Integer.parseInt(orderId.substring(SHARDED_ID_PREFIX.length(), end < 0 ? orderId.length() : end));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+        if (shard < 0 || shard >= shardCount) {
+            throw new EntryNotFoundException(String.format("Order not found with %s", orderId));
+        }
+        return shard;
+    }
+
+    // Creation time embedded in the order id, or -1 for ids this service did not generate.
+    public long createdAtMillis(String orderId) {
+        if (orderId == null || !orderId.startsWith(LEGACY_ID_PREFIX)) {
+            return -1;
+        }
+        int start = LEGACY_ID_PREFIX.length();
+        if (orderId.startsWith(SHARDED_ID_PREFIX)) {
+            start = orderId.indexOf('-', SHARDED_ID_PREFIX.length()) + 1;
+            if (start == 0) {
+                return -1;
+            }
+        }
+        int end = orderId.indexOf('-', start);
+        try {
+            return Long.parseLong(orderId.substring(start, end < 0 ? orderId.length() : end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Runs the work in its own transaction on the given shard.
+    public <T> T inShard(int shard, Supplier<T> work) {
+        return ShardContext.with(shard, () -> shardTransaction.execute(status -> work.get()));
+    }
+
+    public void forEachShard(IntConsumer work) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            inShard(current, () -> {
+                work.accept(current);
+                return null;
+            });
+        }
+    }
+
+    // Runs the work on every shard in parallel, one transaction each; results are in shard order.
+    public <T> List<T> scatter(IntFunction<T> work) {
+        if (shardCount == 1) {
+            return Collections.singletonList(inShard(0, () -> work.apply(0)));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> inShard(current, () -> work.apply(current)), scatterPool));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+}
@@ -0,0 +1,100 @@
+package com.devstack.quickcart.order_service_api.sharding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.TargetType;
+import org.hibernate.tool.schema.internal.ExceptionHandlerHaltImpl;
+import org.hibernate.tool.schema.spi.ContributableMatcher;
+import org.hibernate.tool.schema.spi.ExecutionOptions;
+import org.hibernate.tool.schema.spi.SchemaManagementTool;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.hibernate.tool.schema.spi.SchemaMigrator;
+import org.hibernate.tool.schema.spi.ScriptTargetOutput;
+import org.hibernate.tool.schema.spi.TargetDescriptor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hibernate's schema tooling only sees the connection it is handed at boot, which
+ * is shard 0. This brings the other shards up to the same mapping through Hibernate's
+ * schema migrator whenever {@code spring.jpa.hibernate.ddl-auto} asks for schema changes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardSchemaInitializer implements HibernatePropertiesCustomizer, Integrator, SmartInitializingSingleton {
+
+    private static final Set<String> SCHEMA_CHANGING_MODES = Set.of("update", "create", "create-drop");
+
+    private static final TargetDescriptor DATABASE_ONLY = new TargetDescriptor() {
+        @Override
+        public EnumSet<TargetType> getTargetTypes() {
+            return EnumSet.of(TargetType.DATABASE);
+        }
+
+        @Override
+        public ScriptTargetOutput getScriptTargetOutput() {
+            return null;
+        }
+    };
+
+    private final ShardingProperties properties;
+
+    @Value("${spring.jpa.hibernate.ddl-auto:none}")
+    private String ddlAuto;
+
+    private Metadata metadata;
+    private SessionFactoryImplementor sessionFactory;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(this));
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = null;
+        this.sessionFactory = null;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (metadata == null || !SCHEMA_CHANGING_MODES.contains(ddlAuto)) {
+            return;
+        }
+        ServiceRegistry serviceRegistry = sessionFactory.getServiceRegistry();
+        Map<String, Object> settings = new HashMap<>(serviceRegistry.requireService(ConfigurationService.class).getSettings());
+        SchemaMigrator migrator = serviceRegistry.requireService(SchemaManagementTool.class).getSchemaMigrator(settings);
+        ExecutionOptions options = SchemaManagementToolCoordinator.buildExecutionOptions(settings, ExceptionHandlerHaltImpl.INSTANCE);
+        for (int shard = 1; shard < properties.getShardCount(); shard++) {
+            // The connection provider wraps the sharded DataSource, so the migrator's connections follow ShardContext
+            ShardContext.with(shard, () -> {
+                migrator.doMigration(metadata, options, ContributableMatcher.ALL, DATABASE_ONLY);
+                return null;
+            });
+            log.info("Schema of shard {} migrated", shard);
+        }
+    }
+}
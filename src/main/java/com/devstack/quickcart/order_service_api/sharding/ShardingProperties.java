@@ -0,0 +1,37 @@
+package com.devstack.quickcart.order_service_api.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shard 0 is {@code spring.datasource}; every entry in {@code sharding.datasources}
+ * adds the next shard. Each entry's pool starts from {@code spring.datasource.hikari}
+ * and may override it under its own {@code hikari} key. Shards may be appended but never removed or reordered,
+ * because order ids carry the number of the shard that stores them.
+ */
+@Component
+@ConfigurationProperties(prefix = "sharding")
+@Getter
+@Setter
+public class ShardingProperties {
+    private List<Shard> datasources = new ArrayList<>();
+    private int scatterThreads = 8;
+
+    public int getShardCount() {
+        return datasources.size() + 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
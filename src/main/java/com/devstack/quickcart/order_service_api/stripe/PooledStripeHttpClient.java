@@ -0,0 +1,264 @@
+package com.devstack.quickcart.order_service_api.stripe;
+
+import com.devstack.quickcart.order_service_api.dto.response.StripeEndpointStatsResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.StripeTransportStatsResponseDto;
+import com.devstack.quickcart.order_service_api.util.LatencyHistogram;
+import com.stripe.Stripe;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.StripeException;
+import com.stripe.net.ApiResource;
+import com.stripe.net.HttpClient;
+import com.stripe.net.HttpContent;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.StripeRequest;
+import com.stripe.net.StripeResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ManagedHttpClientConnection;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.ParseException;
+import org.apache.hc.core5.http.io.HttpConnectionFactory;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stripe transport on a pooled keep-alive Apache HttpClient, so checkouts reuse
+ * warm TLS connections instead of the SDK's per-call {@code HttpURLConnection}.
+ * Latency is kept per endpoint (ids collapsed to {@code {id}}).
+ * <p>
+ * Replaces the SDK's retry loop: connection failures and responses Stripe marks
+ * retryable ({@code Stripe-Should-Retry}, 409, 429, 5xx) are retried up to
+ * {@code stripe.http.retry.max-attempts} with jittered exponential backoff.
+ * Writes get an {@code Idempotency-Key} up front so a retried POST can never
+ * charge twice. Pool exhaustion is not retried; it only adds to the queue.
+ */
+@Slf4j
+public class PooledStripeHttpClient extends HttpClient implements AutoCloseable {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String SHOULD_RETRY_HEADER = "Stripe-Should-Retry";
+    private static final String USER_AGENT = "Stripe/v1 JavaBindings/" + Stripe.VERSION + " quickcart-order-service";
+
+    private final StripeHttpProperties properties;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    public PooledStripeHttpClient(StripeHttpProperties properties) {
+        this.properties = properties;
+        HttpConnectionFactory<ManagedHttpClientConnection> countingFactory = new HttpConnectionFactory<>() {
+            @Override
+            public ManagedHttpClientConnection createConnection(Socket socket) throws IOException {
+                connectionsOpened.increment();
+                return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+            }
+        };
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setConnectionFactory(countingFactory)
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(properties.getResponseTimeoutMs()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(properties.getConnectionTtlMs()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(properties.getValidateAfterInactivityMs()))
+                        .build())
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getPoolWaitTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(properties.getResponseTimeoutMs()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleEvictMs()))
+                .disableAutomaticRetries()
+                .disableCookieManagement()
+                .disableRedirectHandling()
+                .build();
+    }
+
+    @Override
+    public StripeResponse request(StripeRequest request) throws StripeException {
+        EndpointStats stats = endpoints.computeIfAbsent(endpointOf(request), endpoint -> new EndpointStats());
+        long started = System.nanoTime();
+        try {
+            StripeResponse response = httpClient.execute(toHttpRequest(request), PooledStripeHttpClient::toStripeResponse);
+            if (response.code() < 200 || response.code() >= 300) {
+                stats.errors.increment();
+            }
+            return response;
+        } catch (IOException e) {
+            stats.failures.increment();
+            throw new ApiConnectionException(String.format("IOException during API request to Stripe (%s): %s",
+                    request.url().getHost(), e.getMessage()), e);
+        } finally {
+            stats.latency.record(System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public StripeResponse requestWithRetries(StripeRequest request) throws StripeException {
+        StripeRequest attemptRequest = withIdempotencyKey(request);
+        int maxAttempts = Math.max(1, properties.getRetry().getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            StripeResponse response;
+            try {
+                response = request(attemptRequest);
+            } catch (ApiConnectionException e) {
+                if (attempt >= maxAttempts || e.getCause() instanceof ConnectionRequestTimeoutException) {
+                    throw e;
+                }
+                log.debug("Retrying Stripe {} after connection failure: {}", endpointOf(request), e.getMessage());
+                backoff(attempt);
+                continue;
+            }
+            if (attempt >= maxAttempts || !shouldRetry(response)) {
+                return response;
+            }
+            log.debug("Retrying Stripe {} after HTTP {}", endpointOf(request), response.code());
+            backoff(attempt);
+        }
+    }
+
+    public StripeTransportStatsResponseDto getStats() {
+        PoolStats pool = connectionManager.getTotalStats();
+        List<StripeEndpointStatsResponseDto> endpointStats = new ArrayList<>();
+        endpoints.forEach((endpoint, stats) -> endpointStats.add(StripeEndpointStatsResponseDto.builder()
+                .endpoint(endpoint)
+                .calls(stats.latency.count())
+                .errorResponses(stats.errors.sum())
+                .connectionFailures(stats.failures.sum())
+                .p50Millis(stats.latency.percentileMillis(0.50))
+                .p95Millis(stats.latency.percentileMillis(0.95))
+                .p99Millis(stats.latency.percentileMillis(0.99))
+                .build()));
+        endpointStats.sort(Comparator.comparing(StripeEndpointStatsResponseDto::getEndpoint));
+        return StripeTransportStatsResponseDto.builder()
+                .maxConnections(pool.getMax())
+                .leasedConnections(pool.getLeased())
+                .idleConnections(pool.getAvailable())
+                .pendingRequests(pool.getPending())
+                .connectionsOpened(connectionsOpened.sum())
+                .retries(retries.sum())
+                .endpoints(endpointStats)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            log.warn("Failed to close Stripe HTTP client: {}", e.getMessage());
+        }
+    }
+
+    private boolean shouldRetry(StripeResponse response) {
+        Optional<String> explicit = response.headers().firstValue(SHOULD_RETRY_HEADER);
+        if (explicit.isPresent()) {
+            return Boolean.parseBoolean(explicit.get());
+        }
+        return response.code() == 409 || response.code() == 429 || response.code() >= 500;
+    }
+
+    private void backoff(int attempt) throws ApiConnectionException {
+        retries.increment();
+        StripeHttpProperties.Retry retry = properties.getRetry();
+        long ceiling = Math.min(retry.getMaxBackoffMs(), retry.getInitialBackoffMs() << Math.min(attempt - 1, 20));
+        // half fixed, half random, so callers that failed together do not retry together
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiConnectionException("Interrupted while waiting to retry a Stripe request", e);
+        }
+    }
+
+    private static StripeRequest withIdempotencyKey(StripeRequest request) throws StripeException {
+        if (request.method() == ApiResource.RequestMethod.GET
+                || request.headers().firstValue(IDEMPOTENCY_KEY_HEADER).isPresent()) {
+            return request;
+        }
+        return request.withAdditionalHeader(IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+    }
+
+    private static ClassicHttpRequest toHttpRequest(StripeRequest request) throws ApiConnectionException {
+        ClassicRequestBuilder builder;
+        try {
+            builder = ClassicRequestBuilder.create(request.method().name()).setUri(request.url().toURI());
+        } catch (URISyntaxException e) {
+            throw new ApiConnectionException("Invalid Stripe URL " + request.url(), e);
+        }
+        request.headers().map().forEach((name, values) -> values.forEach(value -> builder.addHeader(name, value)));
+        builder.setHeader("User-Agent", USER_AGENT);
+        HttpContent content = request.content();
+        if (content != null) {
+            builder.setEntity(new ByteArrayEntity(content.byteArrayContent(), ContentType.parse(content.contentType())));
+        }
+        return builder.build();
+    }
+
+    private static StripeResponse toStripeResponse(ClassicHttpResponse response) throws IOException {
+        String body;
+        try {
+            body = response.getEntity() == null ? "" : EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+        } catch (ParseException e) {
+            // surfaces as a connection failure in request(), so it is counted and retried like one
+            throw new IOException("Unreadable Stripe response body: " + e.getMessage(), e);
+        }
+        Map<String, List<String>> headers = new HashMap<>();
+        for (Header header : response.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        return new StripeResponse(response.getCode(), HttpHeaders.of(headers), body);
+    }
+
+    // "POST /v1/payment_intents/pi_123/confirm" -> "POST /v1/payment_intents/{id}/confirm"
+    static String endpointOf(StripeRequest request) {
+        return request.method().name() + " " + normalizePath(request.url().getPath());
+    }
+
+    static String normalizePath(String path) {
+        String[] segments = path.split("/");
+        StringBuilder normalized = new StringBuilder();
+        // segments: "", "v1", resource, id, action, id, ...
+        for (int i = 1; i < segments.length; i++) {
+            normalized.append('/').append(i >= 3 && i % 2 == 1 ? "{id}" : segments[i]);
+        }
+        return normalized.toString();
+    }
+
+    private static final class EndpointStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder failures = new LongAdder();
+    }
+}
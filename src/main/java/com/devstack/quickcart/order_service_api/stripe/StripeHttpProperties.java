@@ -0,0 +1,29 @@
+package com.devstack.quickcart.order_service_api.stripe;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "stripe.http")
+@Getter
+@Setter
+public class StripeHttpProperties {
+    private int maxConnections = 50;
+    private long connectTimeoutMs = 2_000;
+    private long responseTimeoutMs = 20_000;
+    private long poolWaitTimeoutMs = 1_000;
+    private long connectionTtlMs = 300_000;
+    private long idleEvictMs = 60_000;
+    private long validateAfterInactivityMs = 2_000;
+    private Retry retry = new Retry();
+
+    @Getter
+    @Setter
+    public static class Retry {
+        private int maxAttempts = 3;
+        private long initialBackoffMs = 200;
+        private long maxBackoffMs = 2_000;
+    }
+}
@@ -0,0 +1,46 @@
+package com.devstack.quickcart.order_service_api.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with fixed millisecond buckets roughly x1.5
+ * apart, from 1 ms to 60 s. Percentiles report the bucket's upper bound.
+ */
+public final class LatencyHistogram {
+
+    private static final long[] BOUNDS_MS = {1, 2, 3, 5, 8, 12, 18, 27, 40, 60, 90, 135, 200, 300, 450, 675,
+            1_000, 1_500, 2_250, 3_400, 5_000, 7_500, 11_000, 17_000, 25_000, 38_000, 60_000, Long.MAX_VALUE};
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MS.length);
+
+    public void record(long nanos) {
+        long millis = nanos / 1_000_000;
+        int bucket = Arrays.binarySearch(BOUNDS_MS, millis);
+        buckets.incrementAndGet(bucket >= 0 ? bucket : -bucket - 1);
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+
+    public long percentileMillis(double quantile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return i == BOUNDS_MS.length - 1 ? BOUNDS_MS[i - 1] : BOUNDS_MS[i];
+            }
+        }
+        return BOUNDS_MS[BOUNDS_MS.length - 2];
+    }
+}
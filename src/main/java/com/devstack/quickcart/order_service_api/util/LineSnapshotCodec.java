@@ -0,0 +1,81 @@
+package com.devstack.quickcart.order_service_api.util;
+
+import com.devstack.quickcart.order_service_api.dto.response.OrderDetailResponseDto;
+import com.devstack.quickcart.order_service_api.entity.OrderDetail;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Compact JSON copy of an order's status and line items, stored on the
+ * {@code customer_order} row so reads need neither {@code order_detail} nor
+ * {@code order_status}. Lines are sorted by detail id so equal orders encode to
+ * equal strings. Orders too large for the column get no snapshot and are read
+ * from the normalized rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class LineSnapshotCodec {
+
+    public static final int MAX_LENGTH = 4000;
+
+    private final ObjectMapper objectMapper;
+
+    public String encode(String status, Collection<OrderDetail> details) {
+        List<Line> lines = details.stream()
+                .sorted(Comparator.comparing(OrderDetail::getDetailId))
+                .map(d -> new Line(d.getDetailId(), d.getProductId(), d.getQty(), d.getUnitPrice(), d.getDiscount()))
+                .collect(Collectors.toList());
+        return write(new Snapshot(status, lines));
+    }
+
+    // Swaps the status in an existing snapshot, so a status change does not have to load the lines.
+    public Optional<String> withStatus(String snapshot, String status) {
+        return decode(snapshot).map(s -> write(new Snapshot(status, s.lines())));
+    }
+
+    public Optional<Snapshot> decode(String snapshot) {
+        if (snapshot == null || snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(snapshot, Snapshot.class));
+        } catch (JsonProcessingException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String write(Snapshot snapshot) {
+        try {
+            String json = objectMapper.writeValueAsString(snapshot);
+            return json.length() > MAX_LENGTH ? null : json;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    public record Snapshot(@JsonProperty("s") String status, @JsonProperty("l") List<Line> lines) {
+
+        public List<OrderDetailResponseDto> toDetailDtos() {
+            return lines.stream().map(line -> OrderDetailResponseDto.builder()
+                    .detailId(line.detailId())
+                    .productId(line.productId())
+                    .qty(line.qty())
+                    .unitPrice(line.unitPrice())
+                    .discount(line.discount())
+                    .build()).collect(Collectors.toList());
+        }
+    }
+
+    public record Line(@JsonProperty("d") String detailId, @JsonProperty("p") String productId, @JsonProperty("q") int qty,
+                       @JsonProperty("u") double unitPrice, @JsonProperty("x") double discount) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.devstack.quickcart.order_service_api.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: four levels of 64 slots, each level's slot
+ * spanning 64 slots of the level below. Scheduling, rescheduling and
+ * cancelling are O(1); {@link #advance} touches only the slots that came due,
+ * plus the occasional cascade of one upper slot down a level. Deadlines
+ * beyond the top level wait in an overflow list that is re-placed whenever the
+ * top level turns. One key holds at most one deadline; all methods are
+ * synchronized, which is fine at the rate order statuses change.
+ */
+public final class TimingWheel<K> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Node<K>[][] wheels;
+    private final Node<K> overflow = new Node<>(null);
+    private final Node<K> due = new Node<>(null);
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        this.wheels = new Node[LEVELS][SLOTS];
+        for (Node<K>[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = new Node<>(null);
+            }
+        }
+    }
+
+    // Replaces any deadline the key already had; deadlines in the past fire on the next advance.
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Node<K> node = nodes.get(key);
+        if (node == null) {
+            node = new Node<>(key);
+            nodes.put(key, node);
+        } else {
+            node.unlink();
+        }
+        node.tick = ceilDiv(deadlineMillis, tickMillis);
+        place(node);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.unlink();
+        return true;
+    }
+
+    // Returns every key whose deadline is at or before nowMillis, removing them from the wheel.
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> expired = new ArrayList<>();
+        drain(due, expired);
+        while (currentTick <= targetTick) {
+            if ((currentTick & MASK) == 0) {
+                cascade(1);
+            }
+            drain(wheels[0][(int) (currentTick & MASK)], expired);
+            currentTick++;
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    public synchronized boolean contains(K key) {
+        return nodes.containsKey(key);
+    }
+
+    private void drain(Node<K> head, List<K> expired) {
+        while (head.next != head) {
+            Node<K> node = head.next;
+            node.unlink();
+            nodes.remove(node.key);
+            expired.add(node.key);
+        }
+    }
+
+    // Moves the slot of the given level that has just come into range down to finer levels.
+    private void cascade(int level) {
+        int slot = (int) ((currentTick >>> (BITS * level)) & MASK);
+        if (slot == 0) {
+            if (level + 1 < LEVELS) {
+                cascade(level + 1);
+            } else {
+                replaceAll(overflow);
+            }
+        }
+        replaceAll(wheels[level][slot]);
+    }
+
+    private void replaceAll(Node<K> head) {
+        Node<K> node = head.next;
+        head.next = head;
+        head.prev = head;
+        while (node != head) {
+            Node<K> next = node.next;
+            node.next = node;
+            node.prev = node;
+            place(node);
+            node = next;
+        }
+    }
+
+    // The finest level whose slot range still shares the current tick's upper digits.
+    private void place(Node<K> node) {
+        if (node.tick < currentTick) {
+            node.linkBefore(due);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * (level + 1);
+            if ((node.tick >>> shift) == (currentTick >>> shift)) {
+                node.linkBefore(wheels[level][(int) ((node.tick >>> (BITS * level)) & MASK)]);
+                return;
+            }
+        }
+        node.linkBefore(overflow);
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static final class Node<K> {
+        final K key;
+        long tick;
+        Node<K> prev = this;
+        Node<K> next = this;
+
+        Node(K key) {
+            this.key = key;
+        }
+
+        void linkBefore(Node<K> head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = this;
+            next = this;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.devstack.quickcart.order_service_api.warmup;
+
+import com.devstack.quickcart.order_service_api.dto.request.PaymentRequestDto;
+import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.StripeTransportStatsResponseDto;
+import com.devstack.quickcart.order_service_api.service.PaymentService;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.ApiResource;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-process Stripe stub for warm-up. Answers are canned payment intent JSON run
+ * through the Stripe SDK's own deserializer, so the response mapping is exercised
+ * without any network call or charge.
+ */
+class WarmupPaymentService implements PaymentService {
+
+    @Override
+    public PaymentResponseDto createPaymentIntent(PaymentRequestDto paymentRequest, double amount) {
+        PaymentIntent paymentIntent = paymentIntent("pi_warmup_" + UUID.randomUUID(), "requires_confirmation", Math.round(amount * 100));
+        return PaymentResponseDto.builder()
+                .paymentIntentId(paymentIntent.getId())
+                .clientSecret(paymentIntent.getClientSecret())
+                .status(paymentIntent.getStatus())
+                .amount(paymentIntent.getAmount())
+                .currency(paymentIntent.getCurrency())
+                .paymentMethodId(paymentIntent.getPaymentMethod())
+                .build();
+    }
+
+    @Override
+    public PaymentResponseDto confirmPayment(String paymentIntentId) {
+        return statusOf(paymentIntent(paymentIntentId, "succeeded", 0));
+    }
+
+    @Override
+    public PaymentResponseDto cancelPayment(String paymentIntentId) {
+        return statusOf(paymentIntent(paymentIntentId, "canceled", 0));
+    }
+
+    @Override
+    public PaymentResponseDto getPaymentStatus(String paymentIntentId) {
+        return statusOf(paymentIntent(paymentIntentId, "processing", 0));
+    }
+
+    @Override
+    public StripeTransportStatsResponseDto getTransportStats() {
+        // nothing goes over the wire
+        return StripeTransportStatsResponseDto.builder().endpoints(List.of()).build();
+    }
+
+    @Override
+    public void handleWebhook(String payload, String signature) {
+        // webhook verification is warmed through the real PaymentService
+        throw new RuntimeException("Webhook processing failed: warm-up payments accept no webhooks");
+    }
+
+    static String paymentIntentJson(String id, String status, long amountInCents) {
+        return "{\"id\":\"" + id + "\",\"object\":\"payment_intent\",\"amount\":" + amountInCents
+                + ",\"currency\":\"usd\",\"status\":\"" + status + "\",\"client_secret\":\"" + id + "_secret_warmup\""
+                + ",\"payment_method\":\"pm_card_visa\",\"livemode\":false,\"metadata\":{}}";
+    }
+
+    private static PaymentIntent paymentIntent(String id, String status, long amountInCents) {
+        return ApiResource.GSON.fromJson(paymentIntentJson(id, status, amountInCents), PaymentIntent.class);
+    }
+
+    private static PaymentResponseDto statusOf(PaymentIntent paymentIntent) {
+        return PaymentResponseDto.builder()
+                .paymentIntentId(paymentIntent.getId())
+                .status(paymentIntent.getStatus())
+                .amount(paymentIntent.getAmount())
+                .currency(paymentIntent.getCurrency())
+                .receiptUrl("")
+                .build();
+    }
+}
@@ -0,0 +1,237 @@
+package com.devstack.quickcart.order_service_api.warmup;
+
+import com.devstack.quickcart.order_service_api.dto.request.CustomerOrderRequestDto;
+import com.devstack.quickcart.order_service_api.dto.request.OrderDetailRequestDto;
+import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.repo.OrderDetailRepo;
+import com.devstack.quickcart.order_service_api.repo.OrderStatusRepo;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import com.devstack.quickcart.order_service_api.service.*;
+import com.devstack.quickcart.order_service_api.service.impl.CustomerOrderServiceImpl;
+import com.devstack.quickcart.order_service_api.service.impl.JwtService;
+import com.devstack.quickcart.order_service_api.sharding.ShardRouter;
+import com.devstack.quickcart.order_service_api.util.LineSnapshotCodec;
+import com.devstack.quickcart.order_service_api.util.StandardResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.stripe.Stripe;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Drives synthetic checkouts through order creation, JWT parsing, DTO mapping,
+ * snapshot encoding, Jackson serialization and webhook verification before the
+ * instance takes traffic. Orders are built inside a read-only transaction that is
+ * never flushed and always rolled back, and payments go to
+ * {@link WarmupPaymentService}, so nothing is written to the primary. Lookups are
+ * warmed against a handful of existing orders, when there are any.
+ * <p>
+ * Runners finish before Spring Boot reports the application ready, and the
+ * instance registers in Eureka as {@code STARTING} (see
+ * {@code eureka.instance.initial-status}), so it is only marked {@code UP} once
+ * warm-up is done or {@code warmup.timeout-ms} has passed.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final int SAMPLE_ORDERS = 16;
+
+    private final CustomerOrderRepo customerOrderRepo;
+    private final OrderStatusRepo orderStatusRepo;
+    private final OrderDetailRepo orderDetailRepo;
+    private final OrderAnalyticsService orderAnalyticsService;
+    private final OrderStatusStreamService orderStatusStreamService;
+    private final OrderArchiveService orderArchiveService;
+    private final OrderLookupFilterService orderLookupFilterService;
+    private final OrderAuditService orderAuditService;
+    private final OrderExpiryService orderExpiryService;
+    private final OrderSearchCacheService orderSearchCacheService;
+    private final ShardRouter shardRouter;
+    private final LineSnapshotCodec lineSnapshotCodec;
+    private final PaymentService paymentService;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.iterations:300}")
+    private int iterations;
+
+    @Value("${warmup.timeout-ms:10000}")
+    private long timeoutMs;
+
+    @Value("${warmup.lines-per-order:3}")
+    private int linesPerOrder;
+
+    @Value("${stripe.webhook.secret}")
+    private String webhookSecret;
+
+    private volatile int completedIterations;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (enabled) {
+                warmUp(iterations, timeoutMs);
+            }
+        } finally {
+            markUp();
+        }
+    }
+
+    public int getCompletedIterations() {
+        return completedIterations;
+    }
+
+    void warmUp(int iterations, long timeoutMs) {
+        long started = System.nanoTime();
+        long deadline = started + Duration.ofMillis(timeoutMs).toNanos();
+        CustomerOrderService orderService = new CustomerOrderServiceImpl(customerOrderRepo, orderStatusRepo, orderDetailRepo,
+                new WarmupPaymentService(), orderAnalyticsService, orderStatusStreamService, orderArchiveService,
+                orderLookupFilterService, orderAuditService, orderExpiryService, orderSearchCacheService, shardRouter, lineSnapshotCodec);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<String> sampleOrderIds = shardRouter.inShard(0, () -> customerOrderRepo.findIdsAfter("", SAMPLE_ORDERS));
+        String token = syntheticToken();
+
+        long firstBatchNanos = 0;
+        long lastBatchNanos = 0;
+        int batch = Math.max(1, Math.min(100, iterations / 10));
+        int i = 0;
+        try {
+            for (; i < iterations && System.nanoTime() < deadline; i++) {
+                long iterationStarted = System.nanoTime();
+                checkout(i, orderService, readOnly, sampleOrderIds, token);
+                long elapsed = System.nanoTime() - iterationStarted;
+                if (i < batch) {
+                    firstBatchNanos += elapsed;
+                } else if (i >= iterations - batch) {
+                    lastBatchNanos += elapsed;
+                }
+                completedIterations = i + 1;
+            }
+        } catch (RuntimeException e) {
+            // a broken warm-up must never keep the instance out of rotation
+            log.warn("Warm-up stopped after {} checkouts: {}", i, e.toString());
+            return;
+        }
+        long totalMillis = (System.nanoTime() - started) / 1_000_000;
+        if (i < iterations) {
+            log.warn("Warm-up timed out after {} of {} checkouts in {} ms", i, iterations, totalMillis);
+        } else {
+            log.info("Warm-up ran {} checkouts in {} ms, avg {} us for the first {} and {} us for the last {}",
+                    i, totalMillis, firstBatchNanos / batch / 1000, batch, lastBatchNanos / batch / 1000, batch);
+        }
+    }
+
+    private void checkout(int i, CustomerOrderService orderService, TransactionTemplate readOnly, List<String> sampleOrderIds, String token) {
+        try {
+            jwtService.authenticate(token);
+        } catch (JwtException expected) {
+            // signed with a throwaway key, parsing and verification still run end to end
+        }
+        AuthenticatedUser user = new AuthenticatedUser("warmup-" + i, "warmup-" + (i % 64) + "@warmup.local", List.of("user"));
+        readOnly.executeWithoutResult(status -> {
+            try {
+                // read-only means manual flush, so the order never leaves the persistence context
+                PaymentResponseDto payment = orderService.createOrder(orderRequest(i), user);
+                objectMapper.writeValueAsString(new StandardResponseDto(201, "order has been saved", payment));
+                if (!sampleOrderIds.isEmpty()) {
+                    CustomerOrderResponseDto order = orderService.findOrderById(sampleOrderIds.get(i % sampleOrderIds.size()));
+                    objectMapper.writeValueAsString(new StandardResponseDto(200, "order detail", order));
+                }
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+        String payload = webhookPayload(i);
+        long timestamp = System.currentTimeMillis() / 1000;
+        paymentService.handleWebhook(payload, "t=" + timestamp + ",v1=" + hmacSha256(timestamp + "." + payload));
+    }
+
+    private void markUp() {
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (manager != null) {
+            manager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        }
+    }
+
+    private CustomerOrderRequestDto orderRequest(int i) {
+        ArrayList<OrderDetailRequestDto> details = new ArrayList<>(linesPerOrder);
+        double total = 0;
+        for (int line = 0; line < linesPerOrder; line++) {
+            double unitPrice = 5.0 + (i + line) % 50;
+            details.add(new OrderDetailRequestDto("WARMUP-" + line, 1 + line, unitPrice, 0));
+            total += unitPrice;
+        }
+        return new CustomerOrderRequestDto(total, details);
+    }
+
+    private String webhookPayload(int i) {
+        return "{\"id\":\"evt_warmup_" + i + "\",\"object\":\"event\",\"api_version\":\"" + Stripe.API_VERSION + "\","
+                + "\"type\":\"payment_intent.succeeded\",\"data\":{\"object\":"
+                + WarmupPaymentService.paymentIntentJson("pi_warmup_" + i, "succeeded", 1000) + "}}";
+    }
+
+    private String hmacSha256(String message) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(message.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to sign warm-up webhook payload", e);
+        }
+    }
+
+    private static String syntheticToken() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            Date now = new Date();
+            return Jwts.builder()
+                    .setSubject("warmup")
+                    .claim("email", "warmup@warmup.local")
+                    .claim("realm_access", Map.of("roles", List.of("user")))
+                    .setIssuedAt(now)
+                    .setExpiration(new Date(now.getTime() + Duration.ofHours(1).toMillis()))
+                    .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                    .compact();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
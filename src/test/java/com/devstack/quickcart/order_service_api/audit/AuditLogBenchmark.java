@@ -0,0 +1,81 @@
+package com.devstack.quickcart.order_service_api.audit;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures what {@link AuditLog#append} adds to a write path: per-call latency
+ * percentiles across {@code threads} producers, against an empty call as the
+ * baseline, plus how often producers had to wait for the writer.
+ * <pre>./mvnw -Paudit-benchmark test-compile exec:java -Dexec.args="4 200000"</pre>
+ */
+public class AuditLogBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        Path directory = Files.createTempDirectory("audit-benchmark");
+
+        try (AuditLog auditLog = new AuditLog(directory, 4096, 64 * 1024 * 1024, 1000)) {
+            // first pass warms the JIT, second is measured
+            run("warm-up", threads, perThread / 4, i -> append(auditLog, i));
+            long[] baseline = run("baseline (no audit)", threads, perThread, i -> {
+            });
+            long[] audited = run("AuditLog.append", threads, perThread, i -> append(auditLog, i));
+            long added = percentile(audited, 0.99) - percentile(baseline, 0.99);
+            System.out.printf("%nAudit adds ~%d ns at p99 per mutation; %d of %d records written, %d producer stalls%n",
+                    added, auditLog.getWritten(), auditLog.getAppended(), auditLog.getStalls());
+        }
+        System.out.printf("Segments in %s: %d%n", directory, AuditLogReader.segments(directory).size());
+    }
+
+    private static void append(AuditLog auditLog, int i) {
+        auditLog.append(AuditEventType.STATUS_CHANGED, "ORD-S0-1700000000000-0000BEEF", "benchmark@quickcart.local",
+                "PENDING", "CONFIRMED", null, i);
+    }
+
+    private static long[] run(String name, int threads, int perThread, Operation operation) throws InterruptedException {
+        long[][] latencies = new long[threads][perThread];
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            long[] samples = latencies[t];
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    long started = System.nanoTime();
+                    operation.run(i);
+                    samples[i] = System.nanoTime() - started;
+                }
+                done.countDown();
+            });
+            producer.start();
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - started;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%-22s %,12.0f ops/s  p50 %,6d ns  p99 %,7d ns  p99.9 %,8d ns  max %,10d ns%n",
+                name, all.length / (elapsed / 1e9), percentile(all, 0.50), percentile(all, 0.99),
+                percentile(all, 0.999), all[all.length - 1]);
+        return all;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int i);
+    }
+}
@@ -0,0 +1,74 @@
+package com.devstack.quickcart.order_service_api.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentAppendsSurviveRingWrapAndSegmentRolls() throws Exception {
+        int threads = 4;
+        int perThread = 2_000;
+        try (AuditLog auditLog = new AuditLog(directory, 64, AuditLog.MIN_SEGMENT_SIZE, 1000)) {
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String actor = "producer-" + t;
+                Thread producer = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        auditLog.append(AuditEventType.STATUS_CHANGED, "ORD-" + i, actor, "PENDING", "CONFIRMED", null, i);
+                    }
+                });
+                producers.add(producer);
+                producer.start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+        }
+
+        List<AuditRecord> records = new ArrayList<>();
+        AuditLogReader.forEach(directory, records::add);
+        assertThat(records).hasSize(threads * perThread);
+        assertThat(AuditLogReader.segments(directory).size()).isGreaterThan(1);
+
+        // the ring keeps each producer's records in the order it appended them
+        Map<String, Integer> nextByActor = new HashMap<>();
+        long previousSequence = -1;
+        for (AuditRecord record : records) {
+            assertThat(record.sequence()).isEqualTo(previousSequence + 1);
+            previousSequence = record.sequence();
+            int expected = nextByActor.getOrDefault(record.actor(), 0);
+            assertThat(record.orderId()).isEqualTo("ORD-" + expected);
+            assertThat(record.amount()).isEqualTo(expected);
+            nextByActor.put(record.actor(), expected + 1);
+        }
+    }
+
+    @Test
+    void nullsAndLongTextsRoundTrip() {
+        String longRemark = "x".repeat(AuditLog.MAX_TEXT_LENGTH + 50);
+        try (AuditLog auditLog = new AuditLog(directory, 8, AuditLog.MIN_SEGMENT_SIZE, 1000)) {
+            auditLog.append(AuditEventType.REMARK_CHANGED, "ORD-1", "admin@quickcart.local", null, longRemark, null, 12.5);
+        }
+
+        List<AuditRecord> records = AuditLogReader.find(directory, record -> "ORD-1".equals(record.orderId()));
+        assertThat(records).singleElement().satisfies(record -> {
+            assertThat(record.type()).isEqualTo(AuditEventType.REMARK_CHANGED);
+            assertThat(record.before()).isNull();
+            assertThat(record.after()).hasSize(AuditLog.MAX_TEXT_LENGTH);
+            assertThat(record.detail()).isNull();
+            assertThat(record.amount()).isEqualTo(12.5);
+        });
+    }
+}
@@ -0,0 +1,236 @@
+package com.devstack.quickcart.order_service_api.dataset;
+
+import com.devstack.quickcart.order_service_api.entity.OrderDetail;
+import com.devstack.quickcart.order_service_api.util.LineSnapshotCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads a production-shaped {@code customer_order} / {@code order_detail}
+ * dataset into one shard's MySQL database, for {@link QueryPlanTests} and for
+ * reproducing large-table behaviour locally. Start the service against the
+ * database once first so Hibernate creates the schema; the generator only
+ * inserts rows.
+ * <p>
+ * Orders are spread over {@code dataset.days}, denser towards today, with
+ * skewed users and products, the status mix of a live shop, remarks as the
+ * payment flow writes them, line snapshots encoded by {@link LineSnapshotCodec}
+ * and a sprinkling of soft-deleted rows. Each of {@code dataset.threads}
+ * workers writes its own id range through multi-row inserts with unique and
+ * foreign-key checks off for the session.
+ * <pre>./mvnw -Pdataset test-compile exec:java -Ddataset.jdbc-url=jdbc:mysql://localhost:3306/quickcart_orders -Ddataset.orders=20000000</pre>
+ */
+public class DatasetGenerator {
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final List<String> ORDER_COLUMNS = List.of("order_id", "intent_id", "order_date", "total_amount",
+            "user_id", "remark", "line_snapshot", "order_status_id", "deleted_at");
+    private static final List<String> DETAIL_COLUMNS = List.of("detail_id", "product_id", "qty", "unit_price",
+            "discount", "customer_order_id");
+    // cumulative share of each status among generated orders; PENDING ones are kept recent
+    private static final String[] STATUSES = {"COMPLETED", "REJECTED_BY_USER", "REJECTED_BY_ADMIN", "REJECTED_BY_SYSTEM", "PENDING"};
+    private static final double[] STATUS_SHARE = {0.86, 0.92, 0.94, 0.98, 1.0};
+    private static final String[] REMARKS = {"leave at the door", "gift wrap please", "call before delivery",
+            "fragile items", "deliver after 6pm", "office address, reception desk"};
+    private static final char[] ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String jdbcUrl = System.getProperty("dataset.jdbc-url", "jdbc:mysql://localhost:3306/quickcart_orders");
+    private final String username = System.getProperty("dataset.username", "root");
+    private final String password = System.getProperty("dataset.password", "");
+    private final long orders = Long.getLong("dataset.orders", 10_000_000L);
+    private final int shard = Integer.getInteger("dataset.shard", 0);
+    private final int days = Integer.getInteger("dataset.days", 730);
+    private final int users = Integer.getInteger("dataset.users", 1_000_000);
+    private final int products = Integer.getInteger("dataset.products", 50_000);
+    private final int averageLines = Integer.getInteger("dataset.average-lines", 3);
+    private final double deletedShare = Double.parseDouble(System.getProperty("dataset.deleted-share", "0.005"));
+    private final int threads = Integer.getInteger("dataset.threads", Runtime.getRuntime().availableProcessors());
+    private final int ordersPerStatement = Integer.getInteger("dataset.orders-per-statement", 500);
+    private final long seed = Long.getLong("dataset.seed", 42L);
+
+    private final LineSnapshotCodec lineSnapshotCodec = new LineSnapshotCodec(new ObjectMapper());
+    private final AtomicLong ordersWritten = new AtomicLong();
+    private final AtomicLong detailsWritten = new AtomicLong();
+    private final long now = System.currentTimeMillis();
+
+    public static void main(String[] args) throws Exception {
+        new DatasetGenerator().run();
+    }
+
+    private void run() throws Exception {
+        Map<String, String> statusIds = ensureStatuses();
+        long started = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> report(started), 10, 10, TimeUnit.SECONDS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long perWorker = (orders + threads - 1) / threads;
+            for (int worker = 0; worker < threads; worker++) {
+                long from = worker * perWorker;
+                long to = Math.min(orders, from + perWorker);
+                int workerIndex = worker;
+                futures.add(workers.submit(() -> {
+                    generate(from, to, new SplittableRandom(seed + workerIndex), statusIds);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            progress.shutdownNow();
+            workers.shutdownNow();
+        }
+        report(started);
+    }
+
+    private void report(long started) {
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long written = ordersWritten.get();
+        System.out.printf("%,d / %,d orders, %,d lines, %.0f s, %,.0f orders/s%n",
+                written, orders, detailsWritten.get(), seconds, written / Math.max(seconds, 1e-3));
+    }
+
+    private Map<String, String> ensureStatuses() throws SQLException {
+        Map<String, String> ids = new HashMap<>();
+        try (Connection connection = connect()) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT status_id, status FROM order_status")) {
+                while (rows.next()) {
+                    ids.put(rows.getString("status"), rows.getString("status_id"));
+                }
+            }
+            for (String status : STATUSES) {
+                if (!ids.containsKey(status)) {
+                    String id = UUID.randomUUID().toString();
+                    try (PreparedStatement insert = connection.prepareStatement("INSERT INTO order_status (status_id, status) VALUES (?, ?)")) {
+                        insert.setString(1, id);
+                        insert.setString(2, status);
+                        insert.executeUpdate();
+                    }
+                    ids.put(status, id);
+                }
+            }
+            connection.commit();
+        }
+        return ids;
+    }
+
+    private void generate(long from, long to, SplittableRandom random, Map<String, String> statusIds) throws SQLException {
+        try (Connection connection = connect()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET unique_checks = 0");
+                statement.execute("SET foreign_key_checks = 0");
+            }
+            try (MultiRowInserter orderRows = new MultiRowInserter(connection, "customer_order", ORDER_COLUMNS, ordersPerStatement);
+                 MultiRowInserter detailRows = new MultiRowInserter(connection, "order_detail", DETAIL_COLUMNS, ordersPerStatement * averageLines)) {
+                for (long order = from; order < to; order++) {
+                    addOrder(random, statusIds, orderRows, detailRows);
+                    if ((order - from + 1) % ordersPerStatement == 0) {
+                        commit(connection, orderRows, detailRows);
+                    }
+                }
+                commit(connection, orderRows, detailRows);
+            }
+        }
+    }
+
+    private void commit(Connection connection, MultiRowInserter orderRows, MultiRowInserter detailRows) throws SQLException {
+        long ordersBefore = orderRows.getRowsWritten();
+        long detailsBefore = detailRows.getRowsWritten();
+        orderRows.flush();
+        detailRows.flush();
+        connection.commit();
+        ordersWritten.addAndGet(orderRows.getRowsWritten() - ordersBefore);
+        detailsWritten.addAndGet(detailRows.getRowsWritten() - detailsBefore);
+    }
+
+    private void addOrder(SplittableRandom random, Map<String, String> statusIds,
+                          MultiRowInserter orderRows, MultiRowInserter detailRows) throws SQLException {
+        String status = pickStatus(random);
+        // squaring packs orders towards today; pending ones are all from the last hour
+        long ageMillis = "PENDING".equals(status)
+                ? random.nextLong(TimeUnit.HOURS.toMillis(1))
+                : (long) (Math.pow(random.nextDouble(), 2) * days * DAY_MILLIS);
+        long orderMillis = now - ageMillis;
+        String orderId = "ORD-S" + shard + "-" + orderMillis + "-" + randomString(random, HEX, 8);
+
+        int lineCount = 1 + random.nextInt(2 * averageLines - 1);
+        List<OrderDetail> lines = new ArrayList<>(lineCount);
+        double total = 0;
+        for (int line = 0; line < lineCount; line++) {
+            int qty = 1 + random.nextInt(random.nextInt(10) == 0 ? 20 : 3);
+            double unitPrice = Math.round((1 + Math.pow(random.nextDouble(), 3) * 499) * 100) / 100.0;
+            double discount = random.nextInt(10) == 0 ? Math.round(unitPrice * qty * 0.1 * 100) / 100.0 : 0;
+            lines.add(OrderDetail.builder()
+                    .detailId(UUID.randomUUID().toString())
+                    .productId("P-" + skewed(random, products))
+                    .qty(qty)
+                    .unitPrice(unitPrice)
+                    .discount(discount)
+                    .build());
+            total += unitPrice * qty - discount;
+        }
+
+        Timestamp deletedAt = random.nextDouble() < deletedShare
+                ? new Timestamp(Math.min(now, orderMillis + random.nextLong(7 * DAY_MILLIS)))
+                : null;
+        orderRows.add(orderId,
+                "pi_" + randomString(random, ALPHANUMERIC, 24),
+                new Timestamp(orderMillis),
+                Math.round(total * 100) / 100.0,
+                "user" + skewed(random, users) + "@example.com",
+                remark(random, status),
+                lineSnapshotCodec.encode(status, lines),
+                statusIds.get(status),
+                deletedAt);
+        for (OrderDetail line : lines) {
+            detailRows.add(line.getDetailId(), line.getProductId(), line.getQty(), line.getUnitPrice(), line.getDiscount(), orderId);
+        }
+    }
+
+    private static String pickStatus(SplittableRandom random) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < STATUSES.length; i++) {
+            if (roll < STATUS_SHARE[i]) {
+                return STATUSES[i];
+            }
+        }
+        return STATUSES[STATUSES.length - 1];
+    }
+
+    // Mirrors what the payment flow appends to remarks, plus the odd customer note.
+    private static String remark(SplittableRandom random, String status) {
+        String note = random.nextInt(20) == 0 ? REMARKS[random.nextInt(REMARKS.length)] : "";
+        return switch (status) {
+            case "COMPLETED" -> note + " | Payment Status: succeeded";
+            case "REJECTED_BY_SYSTEM" -> note + " | Payment Failed: expired";
+            default -> note;
+        };
+    }
+
+    // A few ids take most of the traffic, like real customers and best sellers.
+    private static int skewed(SplittableRandom random, int bound) {
+        return (int) (Math.pow(random.nextDouble(), 3) * bound);
+    }
+
+    private static String randomString(SplittableRandom random, char[] alphabet, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return new String(chars);
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(jdbcUrl, username, password);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+}
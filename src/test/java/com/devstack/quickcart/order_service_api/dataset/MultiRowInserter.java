@@ -0,0 +1,79 @@
+package com.devstack.quickcart.order_service_api.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Buffers rows and writes them as one {@code INSERT ... VALUES (..), (..), ...}
+ * statement per {@code rowsPerStatement} rows, which loads an order of magnitude
+ * faster than row-at-a-time batches and needs no {@code local_infile} grant.
+ */
+final class MultiRowInserter implements AutoCloseable {
+
+    private final Connection connection;
+    private final String table;
+    private final List<String> columns;
+    private final int rowsPerStatement;
+    private final PreparedStatement fullStatement;
+    private final List<Object[]> buffer = new ArrayList<>();
+    private long rowsWritten;
+
+    MultiRowInserter(Connection connection, String table, List<String> columns, int rowsPerStatement) throws SQLException {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.rowsPerStatement = rowsPerStatement;
+        this.fullStatement = connection.prepareStatement(sql(rowsPerStatement));
+    }
+
+    void add(Object... values) throws SQLException {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException(table + " takes " + columns.size() + " values, got " + values.length);
+        }
+        buffer.add(values);
+        if (buffer.size() == rowsPerStatement) {
+            write(fullStatement);
+        }
+    }
+
+    // Writes the remainder with a statement sized to it.
+    void flush() throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql(buffer.size()))) {
+            write(statement);
+        }
+    }
+
+    long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    private void write(PreparedStatement statement) throws SQLException {
+        int index = 1;
+        for (Object[] row : buffer) {
+            for (Object value : row) {
+                statement.setObject(index++, value);
+            }
+        }
+        statement.executeUpdate();
+        rowsWritten += buffer.size();
+        buffer.clear();
+    }
+
+    private String sql(int rows) {
+        String row = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES " +
+                String.join(", ", Collections.nCopies(rows, row));
+    }
+
+    @Override
+    public void close() throws SQLException {
+        fullStatement.close();
+    }
+}
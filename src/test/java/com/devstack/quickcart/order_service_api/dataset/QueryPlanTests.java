@@ -0,0 +1,321 @@
+package com.devstack.quickcart.order_service_api.dataset;
+
+import com.devstack.quickcart.order_service_api.repo.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAINs every repository query against a database filled by
+ * {@link DatasetGenerator} and fails when one falls back to a full scan of a
+ * large table or its median time exceeds {@code plan.max-millis}. Native
+ * queries are taken from their {@code @Query} annotations, so the plans always
+ * match the shipped SQL; JPQL and derived queries are checked through the SQL
+ * Hibernate generates for them. Without {@code dataset.jdbc-url} only the
+ * coverage check runs, which fails when a repository query has no case here.
+ * <pre>./mvnw test -Dtest=QueryPlanTests -Ddataset.jdbc-url=jdbc:mysql://localhost:3306/quickcart_orders</pre>
+ */
+class QueryPlanTests {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(CustomerOrderRepo.class, OrderDetailRepo.class,
+            OrderStatusRepo.class, ArchivedOrderRepo.class, OrderRollupRepo.class);
+    private static final Pattern PARAMETER = Pattern.compile("%\\?(\\d+)%|\\?(\\d+)|:(\\w+)");
+    private static final String MISSING_ORDER_ID = "ORD-S0-1000000000000-DEADBEEF";
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    // small enough that scanning them is the cheapest plan
+    private static final Set<String> LOOKUP_TABLES = Set.of("order_status");
+
+    // scans that are expected, and why; anything else scanning a large table is a regression
+    private static final Map<String, String> ACCEPTED_SCANS = Map.of(
+            "CustomerOrderRepo.searchRows", "leading-wildcard LIKE, walks idx_customer_order_date until the page is full",
+            "CustomerOrderRepo.searchKeys", "leading-wildcard LIKE, walks idx_customer_order_date until the page is full",
+            "CustomerOrderRepo.searchCount", "leading-wildcard LIKE cannot use a B-tree index",
+            "ArchivedOrderRepo.archiveSize", "admin statistics over the whole archive",
+            "OrderRollupRepo.aggregateByDay", "analytics rebuild reads every order by design",
+            "OrderRollupRepo.aggregateByStatus", "analytics rebuild reads every order by design",
+            "OrderRollupRepo.aggregateByProduct", "analytics rebuild reads every line by design",
+            "OrderRollupRepo.findAllIds", "analytics rebuild lists every rollup to drop the stale ones");
+
+    // the SQL Hibernate issues for queries that are not native
+    private static final Map<String, String> GENERATED_SQL = Map.of(
+            "CustomerOrderRepo.findById", "SELECT o.*, s.* FROM customer_order o LEFT JOIN order_status s ON s.status_id = o.order_status_id " +
+                    "WHERE o.order_id = :id AND (o.deleted_at IS NULL)",
+            "CustomerOrderRepo.lockInStatusBefore", "SELECT o.* FROM customer_order o WHERE o.order_id IN (:ids) " +
+                    "AND o.order_status_id = :status AND o.order_date <= :before AND (o.deleted_at IS NULL)",
+            "CustomerOrderRepo.lockByIds", "SELECT o.* FROM customer_order o WHERE o.order_id IN (:ids) AND (o.deleted_at IS NULL)",
+            "CustomerOrderRepo.findAllWithProducts", "SELECT DISTINCT o.*, s.*, d.* FROM customer_order o JOIN order_status s ON s.status_id = o.order_status_id " +
+                    "LEFT JOIN order_detail d ON d.customer_order_id = o.order_id WHERE o.order_id IN (:ids) AND (o.deleted_at IS NULL)",
+            "OrderRollupRepo.findAllIds", "SELECT r.rollup_id FROM order_rollup r");
+
+    private static Connection connection;
+
+    @Test
+    void everyRepositoryQueryHasAPlanCase() {
+        Set<String> cases = new HashSet<>(sampleArguments(new Samples("", "", "")).keySet());
+        cases.addAll(GENERATED_SQL.keySet());
+        List<String> missing = new ArrayList<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                Query query = method.getAnnotation(Query.class);
+                if (query != null && isSelect(query.value()) && !cases.contains(caseName(repository, method))) {
+                    missing.add(caseName(repository, method));
+                }
+            }
+        }
+        assertThat(missing).as("repository queries without a plan case").isEmpty();
+    }
+
+    @TestFactory
+    @EnabledIfSystemProperty(named = "dataset.jdbc-url", matches = ".+")
+    Stream<DynamicTest> queriesUseIndexes() throws SQLException {
+        connection = DriverManager.getConnection(System.getProperty("dataset.jdbc-url"),
+                System.getProperty("dataset.username", "root"), System.getProperty("dataset.password", ""));
+        Samples samples = loadSamples();
+        Map<String, Object[]> arguments = sampleArguments(samples);
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                Query query = method.getAnnotation(Query.class);
+                String name = caseName(repository, method);
+                if (query != null && query.nativeQuery() && isSelect(query.value())) {
+                    tests.add(DynamicTest.dynamicTest(name, () -> check(name, nativeCase(method, query.value(), arguments.get(name)))));
+                }
+            }
+        }
+        String pendingStatusId = statusId("PENDING");
+        Map<String, Map<String, Object>> generatedArguments = Map.of(
+                "CustomerOrderRepo.findById", Map.of("id", samples.orderId()),
+                "CustomerOrderRepo.lockInStatusBefore", Map.of("ids", List.of(samples.orderId(), MISSING_ORDER_ID),
+                        "status", pendingStatusId, "before", minutesAgo(60)),
+                "CustomerOrderRepo.lockByIds", Map.of("ids", List.of(samples.orderId(), MISSING_ORDER_ID)),
+                "CustomerOrderRepo.findAllWithProducts", Map.of("ids", List.of(samples.orderId(), MISSING_ORDER_ID)),
+                "OrderRollupRepo.findAllIds", Map.of());
+        GENERATED_SQL.forEach((name, sql) ->
+                tests.add(DynamicTest.dynamicTest(name, () -> check(name, bind(sql, List.of(), generatedArguments.get(name))))));
+        return tests.stream();
+    }
+
+    @AfterAll
+    static void closeConnection() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    // Values for each query, in method parameter order without Pageable.
+    private static Map<String, Object[]> sampleArguments(Samples samples) {
+        Map<String, Object[]> arguments = new HashMap<>();
+        arguments.put("CustomerOrderRepo.findRowById", new Object[]{samples.orderId()});
+        arguments.put("CustomerOrderRepo.findRowsByIds", new Object[]{List.of(samples.orderId(), MISSING_ORDER_ID)});
+        arguments.put("CustomerOrderRepo.searchRows", new Object[]{"gift"});
+        arguments.put("CustomerOrderRepo.findIdsAfter", new Object[]{samples.orderId(), 1000});
+        arguments.put("CustomerOrderRepo.findIdPairsAfter", new Object[]{samples.orderId(), 1000});
+        arguments.put("CustomerOrderRepo.findIdPairsSince", new Object[]{minutesAgo(1)});
+        arguments.put("CustomerOrderRepo.searchKeys", new Object[]{"gift", 10});
+        arguments.put("CustomerOrderRepo.searchCount", new Object[]{"gift"});
+        arguments.put("CustomerOrderRepo.getContainingIntentId", new Object[]{samples.intentId()});
+        arguments.put("CustomerOrderRepo.findOrderIdByIntentId", new Object[]{samples.intentId()});
+        arguments.put("CustomerOrderRepo.findFinalizedOrderIds", new Object[]{
+                List.of("COMPLETED", "REJECTED_BY_USER", "REJECTED_BY_ADMIN", "REJECTED_BY_SYSTEM"),
+                new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(90)), 200});
+        arguments.put("CustomerOrderRepo.findKeysInStatusAfter", new Object[]{"PENDING", "", 1000});
+        arguments.put("CustomerOrderRepo.findKeysInStatusSince", new Object[]{"PENDING", minutesAgo(2)});
+        arguments.put("CustomerOrderRepo.findSoftDeletedIds", new Object[]{minutesAgo(1), 500});
+        arguments.put("CustomerOrderRepo.purgeBacklog", new Object[]{});
+        arguments.put("OrderStatusRepo.findByStatus", new Object[]{"PENDING"});
+        arguments.put("ArchivedOrderRepo.archiveSize", new Object[]{});
+        arguments.put("ArchivedOrderRepo.findPageAfter", new Object[]{samples.archivedOrderId(), 500});
+        arguments.put("ArchivedOrderRepo.findIdsAfter", new Object[]{samples.archivedOrderId(), 1000});
+        arguments.put("OrderRollupRepo.aggregateByDay", new Object[]{});
+        arguments.put("OrderRollupRepo.aggregateByStatus", new Object[]{});
+        arguments.put("OrderRollupRepo.aggregateByProduct", new Object[]{});
+        return arguments;
+    }
+
+    private void check(String name, BoundSql query) throws SQLException {
+        List<PlanRow> plan = explain(query);
+        double medianMillis = medianMillis(query);
+        StringBuilder report = new StringBuilder(String.format("%-45s %8.2f ms%n", name, medianMillis));
+        List<String> scans = new ArrayList<>();
+        boolean limited = query.sql().toUpperCase().contains(" LIMIT ");
+        for (PlanRow row : plan) {
+            report.append(String.format("    %-25s %-8s %-35s rows=%-10d %s%n", row.table(), row.type(), row.key(), row.rows(), row.extra()));
+            boolean fullScan = "ALL".equals(row.type()) || ("index".equals(row.type()) && !limited);
+            if (fullScan && !row.table().startsWith("<") && !LOOKUP_TABLES.contains(baseTable(query.sql(), row.table()))) {
+                scans.add(row.table() + " (" + row.type() + ")");
+            }
+        }
+        System.out.print(report);
+        String accepted = ACCEPTED_SCANS.get(name);
+        if (accepted != null) {
+            System.out.println("    accepted scan: " + accepted);
+            return;
+        }
+        assertThat(scans).as("%s scans a large table:%n%s", name, report).isEmpty();
+        assertThat(medianMillis).as("%s median time:%n%s", name, report)
+                .isLessThanOrEqualTo(Double.parseDouble(System.getProperty("plan.max-millis", "200")));
+    }
+
+    private List<PlanRow> explain(BoundSql query) throws SQLException {
+        List<PlanRow> rows = new ArrayList<>();
+        try (PreparedStatement statement = prepare("EXPLAIN " + query.sql(), query.arguments());
+             ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                rows.add(new PlanRow(String.valueOf(result.getString("table")), String.valueOf(result.getString("type")),
+                        String.valueOf(result.getString("key")), result.getLong("rows"), String.valueOf(result.getString("Extra"))));
+            }
+        }
+        return rows;
+    }
+
+    private double medianMillis(BoundSql query) throws SQLException {
+        int repetitions = Integer.getInteger("plan.repetitions", 5);
+        double[] millis = new double[repetitions];
+        run(query);
+        for (int i = 0; i < repetitions; i++) {
+            long started = System.nanoTime();
+            run(query);
+            millis[i] = (System.nanoTime() - started) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis[repetitions / 2];
+    }
+
+    private void run(BoundSql query) throws SQLException {
+        try (PreparedStatement statement = prepare(query.sql(), query.arguments());
+             ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                // drain, so the timing includes transferring the rows
+            }
+        }
+    }
+
+    private PreparedStatement prepare(String sql, List<Object> arguments) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < arguments.size(); i++) {
+            statement.setObject(i + 1, arguments.get(i));
+        }
+        return statement;
+    }
+
+    private static BoundSql nativeCase(Method method, String sql, Object[] arguments) {
+        List<Object> positional = new ArrayList<>();
+        Map<String, Object> named = new HashMap<>();
+        boolean pageable = false;
+        int index = 0;
+        for (Parameter parameter : method.getParameters()) {
+            if (Pageable.class.isAssignableFrom(parameter.getType())) {
+                pageable = true;
+                continue;
+            }
+            Object value = arguments[index++];
+            positional.add(value);
+            Param param = parameter.getAnnotation(Param.class);
+            if (param != null) {
+                named.put(param.value(), value);
+            }
+        }
+        // Spring Data appends the page as LIMIT/OFFSET
+        return bind(pageable ? sql + " LIMIT 10" : sql, positional, named);
+    }
+
+    // Turns Spring Data's ?1 / :name / %?1% placeholders into JDBC ones, expanding collections.
+    static BoundSql bind(String sql, List<Object> positional, Map<String, Object> named) {
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder jdbcSql = new StringBuilder();
+        List<Object> arguments = new ArrayList<>();
+        while (matcher.find()) {
+            String replacement;
+            if (matcher.group(1) != null) {
+                arguments.add(positional.get(Integer.parseInt(matcher.group(1)) - 1));
+                replacement = "CONCAT('%', ?, '%')";
+            } else {
+                Object value = matcher.group(2) != null
+                        ? positional.get(Integer.parseInt(matcher.group(2)) - 1)
+                        : named.get(matcher.group(3));
+                if (value instanceof Collection<?> values) {
+                    arguments.addAll(values);
+                    replacement = String.join(", ", Collections.nCopies(values.size(), "?"));
+                } else {
+                    arguments.add(value);
+                    replacement = "?";
+                }
+            }
+            matcher.appendReplacement(jdbcSql, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(jdbcSql);
+        return new BoundSql(jdbcSql.toString(), arguments);
+    }
+
+    private Samples loadSamples() throws SQLException {
+        String orderId = MISSING_ORDER_ID;
+        String intentId = "pi_missing";
+        try (PreparedStatement statement = prepare("SELECT order_id, intent_id FROM customer_order WHERE order_date >= ? " +
+                "AND deleted_at IS NULL LIMIT 1", List.of(new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1))));
+             ResultSet result = statement.executeQuery()) {
+            if (result.next()) {
+                orderId = result.getString(1);
+                intentId = result.getString(2);
+            }
+        }
+        String archivedOrderId = "";
+        try (PreparedStatement statement = prepare("SELECT order_id FROM archived_customer_order LIMIT 1", List.of());
+             ResultSet result = statement.executeQuery()) {
+            if (result.next()) {
+                archivedOrderId = result.getString(1);
+            }
+        }
+        return new Samples(orderId, intentId, archivedOrderId);
+    }
+
+    private String statusId(String status) throws SQLException {
+        try (PreparedStatement statement = prepare("SELECT status_id FROM order_status WHERE status = ?", List.of(status));
+             ResultSet result = statement.executeQuery()) {
+            return result.next() ? result.getString(1) : "";
+        }
+    }
+
+    // EXPLAIN reports aliases; map them back to the table they stand for.
+    private static String baseTable(String sql, String alias) {
+        Matcher matcher = Pattern.compile("(?i)(?:FROM|JOIN)\\s+(\\w+)\\s+(?:AS\\s+)?" + Pattern.quote(alias) + "\\b").matcher(sql);
+        return matcher.find() ? matcher.group(1) : alias;
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "SELECT", 0, 6);
+    }
+
+    private static String caseName(Class<?> repository, Method method) {
+        return repository.getSimpleName() + "." + method.getName();
+    }
+
+    private static Timestamp minutesAgo(int minutes) {
+        return new Timestamp(System.currentTimeMillis() - minutes * MINUTE);
+    }
+
+    record BoundSql(String sql, List<Object> arguments) {
+    }
+
+    private record Samples(String orderId, String intentId, String archivedOrderId) {
+    }
+
+    private record PlanRow(String table, String type, String key, long rows, String extra) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.devstack.quickcart.order_service_api.discovery;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Minimal local stand-in for a Eureka server: accepts registrations and
+ * heartbeats, keeps every registration body, and serves an empty registry.
+ */
+public class EurekaStubServer {
+
+    private final HttpServer server;
+    private final List<String> registrations = new CopyOnWriteArrayList<>();
+
+    public EurekaStubServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/eureka/apps", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public String getServiceUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/eureka/";
+    }
+
+    public List<String> getRegistrations() {
+        return registrations;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            switch (exchange.getRequestMethod()) {
+                case "POST" -> {
+                    registrations.add(body);
+                    respond(exchange, 204, null);
+                }
+                case "GET" -> respond(exchange, 200, "{\"applications\":{\"versions__delta\":\"1\",\"apps__hashcode\":\"\",\"application\":[]}}");
+                default -> respond(exchange, 200, null);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
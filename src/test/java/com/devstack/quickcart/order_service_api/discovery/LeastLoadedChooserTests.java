@@ -0,0 +1,42 @@
+package com.devstack.quickcart.order_service_api.discovery;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeastLoadedChooserTests {
+
+    private final LeastLoadedChooser chooser = new LeastLoadedChooser();
+
+    @Test
+    void busiestInstanceIsNeverPickedAndLightestGetsMostTraffic() {
+        List<ServiceInstance> instances = List.of(instance("a", "10"), instance("b", "60"), instance("c", "300"));
+        Map<String, Integer> picks = new HashMap<>();
+        for (int i = 0; i < 3_000; i++) {
+            picks.merge(chooser.choose(instances).orElseThrow().getInstanceId(), 1, Integer::sum);
+        }
+        assertThat(picks).doesNotContainKey("c");
+        assertThat(picks.get("a")).isGreaterThan(picks.get("b"));
+    }
+
+    @Test
+    void instancesWithoutScoreCountAsAverage() {
+        assertThat(chooser.scoreOf(instance("a", null))).isEqualTo(50);
+        assertThat(chooser.scoreOf(instance("b", "garbage"))).isEqualTo(50);
+        assertThat(chooser.choose(List.of())).isEmpty();
+    }
+
+    private static ServiceInstance instance(String id, String score) {
+        Map<String, String> metadata = new HashMap<>();
+        if (score != null) {
+            metadata.put(LoadMetadataPublisher.SCORE_KEY, score);
+        }
+        return new DefaultServiceInstance(id, "order-service-api", "localhost", 8085, false, metadata);
+    }
+}
@@ -0,0 +1,61 @@
+package com.devstack.quickcart.order_service_api.discovery;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+class LoadMetadataPublisherTests {
+
+    private static final EurekaStubServer EUREKA = startEureka();
+
+    @DynamicPropertySource
+    static void eureka(DynamicPropertyRegistry registry) {
+        registry.add("eureka.client.enabled", () -> "true");
+        registry.add("eureka.client.fetch-registry", () -> "false");
+        registry.add("eureka.client.service-url.defaultZone", EUREKA::getServiceUrl);
+        registry.add("eureka.client.initial-instance-info-replication-interval-seconds", () -> "1");
+        registry.add("eureka.client.instance-info-replication-interval-seconds", () -> "1");
+        registry.add("load.publish-interval-ms", () -> "200");
+        registry.add("load.publish-min-delta", () -> "0");
+    }
+
+    @AfterAll
+    static void stopEureka() {
+        EUREKA.stop();
+    }
+
+    @Test
+    void loadScoreReachesTheRegistry() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (System.currentTimeMillis() < deadline && EUREKA.getRegistrations().stream().noneMatch(this::carriesScore)) {
+            Thread.sleep(100);
+        }
+        assertThat(EUREKA.getRegistrations()).anyMatch(this::carriesScore);
+    }
+
+    private boolean carriesScore(String registration) {
+        return registration.contains(LoadMetadataPublisher.SCORE_KEY)
+                && registration.contains(LoadMetadataPublisher.POOL_SATURATION_KEY)
+                && registration.contains(LoadMetadataPublisher.P99_KEY);
+    }
+
+    private static EurekaStubServer startEureka() {
+        try {
+            EurekaStubServer server = new EurekaStubServer();
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.devstack.quickcart.order_service_api.jfr;
+
+import com.devstack.quickcart.order_service_api.dto.response.FlightRecordingStatusResponseDto;
+import com.devstack.quickcart.order_service_api.exception.ConflictException;
+import com.devstack.quickcart.order_service_api.service.impl.FlightRecorderServiceImpl;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecorderServiceTests {
+
+    private final FlightRecorderServiceImpl flightRecorderService = new FlightRecorderServiceImpl();
+
+    FlightRecorderServiceTests() {
+        ReflectionTestUtils.setField(flightRecorderService, "settings", "default");
+        ReflectionTestUtils.setField(flightRecorderService, "defaultDurationSeconds", 60);
+        ReflectionTestUtils.setField(flightRecorderService, "maxDurationSeconds", 120);
+        ReflectionTestUtils.setField(flightRecorderService, "maxSizeMb", 50);
+        ReflectionTestUtils.setField(flightRecorderService, "directory", "target/jfr");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        flightRecorderService.shutdown();
+    }
+
+    @Test
+    void recordingIsBoundedAndCarriesOrderFlowEvents() throws Exception {
+        FlightRecordingStatusResponseDto status = flightRecorderService.start(3600, 500);
+        assertThat(status.getState()).isEqualTo("RUNNING");
+        assertThat(status.getMaxDurationSeconds()).isEqualTo(120);
+        assertThat(status.getMaxSizeBytes()).isEqualTo(50L * 1024 * 1024);
+        assertThatThrownBy(() -> flightRecorderService.start(null, null)).isInstanceOf(ConflictException.class);
+
+        OrderCreatePhaseEvent phase = OrderCreatePhaseEvent.start("validate");
+        phase.setOrderId("ORD-S0-1700000000000-CAFEBABE");
+        phase = phase.next("persist");
+        phase.commit();
+        StripeCallEvent stripeCall = new StripeCallEvent("retrieve", "pi_123");
+        stripeCall.begin();
+        stripeCall.commit();
+
+        Path file = flightRecorderService.stop();
+        // a recording with a destination is closed once it has been written out
+        assertThat(flightRecorderService.getStatus().getState()).isIn("STOPPED", "CLOSED");
+        assertThat(flightRecorderService.getStatus().getRecordedBytes()).isPositive();
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> phases = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.devstack.quickcart.OrderCreatePhase"))
+                .toList();
+        assertThat(phases).extracting(event -> event.getString("phase")).containsExactly("validate", "persist");
+        assertThat(phases).allSatisfy(event -> assertThat(event.getString("orderId")).isEqualTo("ORD-S0-1700000000000-CAFEBABE"));
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("com.devstack.quickcart.StripeCall");
+            assertThat(event.getString("paymentIntentId")).isEqualTo("pi_123");
+        });
+    }
+}
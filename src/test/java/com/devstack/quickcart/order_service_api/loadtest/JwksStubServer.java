@@ -0,0 +1,80 @@
+package com.devstack.quickcart.order_service_api.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Local stand-in for the identity provider's JWKS endpoint. Keys can be added and
+ * removed while running to exercise rotation.
+ */
+public class JwksStubServer {
+
+    private final HttpServer server;
+    private final Map<String, RSAPublicKey> keys = new LinkedHashMap<>();
+
+    public JwksStubServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/certs", this::handleCerts);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public String getJwksUri() {
+        return "http://localhost:" + server.getAddress().getPort() + "/certs";
+    }
+
+    public synchronized void putKey(String keyId, RSAPublicKey key) {
+        keys.put(keyId, key);
+    }
+
+    public synchronized void removeKey(String keyId) {
+        keys.remove(keyId);
+    }
+
+    private void handleCerts(HttpExchange exchange) throws IOException {
+        try {
+            byte[] body = jwksJson().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private synchronized String jwksJson() {
+        return keys.entrySet().stream()
+                .map(e -> "{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"" + e.getKey() + "\","
+                        + "\"n\":\"" + base64Url(e.getValue().getModulus()) + "\","
+                        + "\"e\":\"" + base64Url(e.getValue().getPublicExponent()) + "\"}")
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
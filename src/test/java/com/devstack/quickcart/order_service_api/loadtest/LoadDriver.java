@@ -0,0 +1,196 @@
+package com.devstack.quickcart.order_service_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Open-loop HTTP load generator. Requests are dispatched on a fixed schedule at
+ * the target rate regardless of how quickly earlier requests complete.
+ */
+public class LoadDriver {
+
+    public enum Operation {
+        CREATE, FIND_BY_ID, SEARCH_ALL, WEBHOOK
+    }
+
+    private static final int SEARCH_PAGE_SIZE = 10;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String token;
+    private final String webhookSecret;
+    private final int concurrency;
+    private final List<String> knownOrderIds = new CopyOnWriteArrayList<>();
+
+    public LoadDriver(String baseUrl, String token, String webhookSecret, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.token = token;
+        this.webhookSecret = webhookSecret;
+        this.concurrency = concurrency;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(concurrency))
+                .build();
+    }
+
+    public void seed(int orders) throws IOException, InterruptedException {
+        for (int i = 0; i < orders; i++) {
+            send(Operation.CREATE);
+        }
+        refreshKnownOrderIds();
+    }
+
+    public LoadReport run(int targetRps, Duration duration, Map<Operation, Integer> mix) throws InterruptedException {
+        Operation[] schedule = weightedSchedule(mix);
+        long periodNanos = 1_000_000_000L / targetRps;
+        long total = targetRps * duration.getSeconds();
+        LoadReport report = new LoadReport((int) Math.min(Integer.MAX_VALUE, total + 1));
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        long start = System.nanoTime();
+        long[] dispatched = {0};
+        CountDownLatch done = new CountDownLatch(1);
+
+        ticker.scheduleAtFixedRate(() -> {
+            long due = Math.min(total, (System.nanoTime() - start) / periodNanos + 1);
+            for (long i = dispatched[0]; i < due; i++) {
+                Operation operation = schedule[(int) (i % schedule.length)];
+                long intendedStart = start + i * periodNanos;
+                workers.execute(() -> execute(operation, intendedStart, report));
+            }
+            dispatched[0] = due;
+            if (due >= total) {
+                done.countDown();
+            }
+        }, 0, 1, TimeUnit.MILLISECONDS);
+
+        done.await();
+        ticker.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    private void execute(Operation operation, long intendedStart, LoadReport report) {
+        boolean success;
+        try {
+            success = send(operation) < 400;
+        } catch (Exception e) {
+            success = false;
+        }
+        report.record(operation, System.nanoTime() - intendedStart, success);
+    }
+
+    private int send(Operation operation) throws IOException, InterruptedException {
+        HttpRequest request = switch (operation) {
+            case CREATE -> json(URI.create(baseUrl + "/customer-orders/business"))
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.ofString(createOrderBody()))
+                    .build();
+            case FIND_BY_ID -> HttpRequest.newBuilder(URI.create(baseUrl + "/customer-orders/visitors/find-by-id/" + randomOrderId()))
+                    .GET()
+                    .build();
+            case SEARCH_ALL -> HttpRequest.newBuilder(URI.create(baseUrl + "/customer-orders/visitors/search-all?searchText=&page="
+                            + ThreadLocalRandom.current().nextInt(Math.max(1, knownOrderIds.size() / SEARCH_PAGE_SIZE))
+                            + "&size=" + SEARCH_PAGE_SIZE))
+                    .GET()
+                    .build();
+            case WEBHOOK -> webhookRequest();
+        };
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void refreshKnownOrderIds() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/customer-orders/visitors/search-all?searchText=&page=0&size=10000"))
+                .GET()
+                .build();
+        JsonNode body = objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        for (JsonNode order : body.path("data").path("dataList")) {
+            knownOrderIds.add(order.path("orderId").asText());
+        }
+    }
+
+    private String randomOrderId() {
+        if (knownOrderIds.isEmpty()) {
+            return "ORD-UNKNOWN";
+        }
+        return knownOrderIds.get(ThreadLocalRandom.current().nextInt(knownOrderIds.size()));
+    }
+
+    private String createOrderBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int items = random.nextInt(1, 5);
+        StringBuilder details = new StringBuilder();
+        double total = 0;
+        for (int i = 0; i < items; i++) {
+            double unitPrice = random.nextInt(100, 10_000) / 100.0;
+            total += unitPrice;
+            if (i > 0) {
+                details.append(',');
+            }
+            details.append("{\"productId\":\"P-").append(random.nextInt(1, 500))
+                    .append("\",\"qty\":").append(random.nextInt(1, 4))
+                    .append(",\"unitPrice\":").append(unitPrice)
+                    .append(",\"discount\":0}");
+        }
+        return "{\"totalAmount\":" + total + ",\"orderDetails\":[" + details + "]}";
+    }
+
+    private HttpRequest webhookRequest() {
+        long seq = ThreadLocalRandom.current().nextLong(1, 1_000_000);
+        String payload = "{\"id\":\"evt_stub_" + seq + "\",\"object\":\"event\",\"type\":\"payment_intent.succeeded\","
+                + "\"data\":{\"object\":{\"id\":\"pi_stub_" + seq + "\",\"object\":\"payment_intent\",\"status\":\"succeeded\"}}}";
+        long timestamp = System.currentTimeMillis() / 1000;
+        String signature = "t=" + timestamp + ",v1=" + hmacSha256(timestamp + "." + payload);
+        return json(URI.create(baseUrl + "/payments/webhook"))
+                .header("Stripe-Signature", signature)
+                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .build();
+    }
+
+    private String hmacSha256(String message) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(message.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to sign webhook payload", e);
+        }
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private static Operation[] weightedSchedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("Load mix must contain at least one weighted operation");
+        }
+        List<Operation> shuffled = new ArrayList<>(slots);
+        Collections.shuffle(shuffled, new Random(42));
+        return shuffled.toArray(new Operation[0]);
+    }
+}
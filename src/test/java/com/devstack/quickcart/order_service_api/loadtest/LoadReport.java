@@ -0,0 +1,88 @@
+package com.devstack.quickcart.order_service_api.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-operation latency samples for one load-test run. Latency is measured from
+ * the request's scheduled start, so queueing behind a slow server is counted.
+ */
+public class LoadReport {
+
+    private final Map<LoadDriver.Operation, Samples> samples = new EnumMap<>(LoadDriver.Operation.class);
+    private long elapsedNanos;
+
+    public LoadReport(int capacityPerOperation) {
+        for (LoadDriver.Operation operation : LoadDriver.Operation.values()) {
+            samples.put(operation, new Samples(capacityPerOperation));
+        }
+    }
+
+    public void record(LoadDriver.Operation operation, long latencyNanos, boolean success) {
+        samples.get(operation).record(latencyNanos, success);
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        out.printf("%n%-12s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<LoadDriver.Operation, Samples> entry : samples.entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            total += sorted.length;
+            out.printf("%-12s %9d %7d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey().name().toLowerCase(),
+                    sorted.length,
+                    entry.getValue().errors.get(),
+                    sorted.length / seconds,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.90),
+                    percentile(sorted, 0.99),
+                    percentile(sorted, 0.999),
+                    percentile(sorted, 1.0));
+        }
+        out.printf("%-12s %9d %7s %10.1f  over %.1f s%n", "total", total, "", total / seconds, seconds);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    private static final class Samples {
+        private final long[] latencies;
+        private final AtomicInteger cursor = new AtomicInteger();
+        private final AtomicLong errors = new AtomicLong();
+
+        private Samples(int capacity) {
+            this.latencies = new long[capacity];
+        }
+
+        private void record(long latencyNanos, boolean success) {
+            if (!success) {
+                errors.incrementAndGet();
+            }
+            int slot = cursor.getAndIncrement();
+            if (slot < latencies.length) {
+                latencies[slot] = latencyNanos;
+            }
+        }
+
+        private long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, Math.min(cursor.get(), latencies.length));
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.devstack.quickcart.order_service_api.loadtest;
+
+import com.devstack.quickcart.order_service_api.OrderServiceApiApplication;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Boots the service against an in-memory MySQL-mode H2 database, a local
+ * Stripe stub and a local JWKS endpoint, then drives create / find-by-id /
+ * search-all / webhook traffic at {@code loadtest.target-rps} and prints
+ * throughput and latency percentiles.
+ * Tuning lives in {@code application-loadtest.properties}; any key can be
+ * overridden with {@code -D}.
+ * <pre>./mvnw -Pload-test test-compile exec:java -Dloadtest.target-rps=500</pre>
+ */
+public class LoadTestApplication {
+
+    private static final String KEY_ID = "load-test-key";
+
+    public static void main(String[] args) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        StripeStubServer stripeStub = new StripeStubServer(0);
+        stripeStub.start();
+        JwksStubServer jwksStub = new JwksStubServer();
+        jwksStub.putKey(KEY_ID, (RSAPublicKey) keyPair.getPublic());
+        jwksStub.start();
+
+        System.setProperty("security.jwks.uri", jwksStub.getJwksUri());
+        System.setProperty("stripe.api.base", stripeStub.getBaseUrl());
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(OrderServiceApiApplication.class)
+                .profiles("embedded", "loadtest")
+                .run(args);
+        try {
+            Environment env = context.getEnvironment();
+            stripeStub.setLatencyMillis(env.getProperty("loadtest.stripe-latency-ms", Long.class, 0L));
+
+            LoadDriver driver = new LoadDriver(
+                    "http://localhost:" + env.getProperty("local.server.port") + "/api/v1",
+                    signToken(keyPair),
+                    env.getRequiredProperty("stripe.webhook.secret"),
+                    env.getProperty("loadtest.concurrency", Integer.class, 64));
+
+            Map<LoadDriver.Operation, Integer> mix = new EnumMap<>(LoadDriver.Operation.class);
+            mix.put(LoadDriver.Operation.CREATE, env.getProperty("loadtest.mix.create", Integer.class, 0));
+            mix.put(LoadDriver.Operation.FIND_BY_ID, env.getProperty("loadtest.mix.find-by-id", Integer.class, 0));
+            mix.put(LoadDriver.Operation.SEARCH_ALL, env.getProperty("loadtest.mix.search-all", Integer.class, 0));
+            mix.put(LoadDriver.Operation.WEBHOOK, env.getProperty("loadtest.mix.webhook", Integer.class, 0));
+            int targetRps = env.getProperty("loadtest.target-rps", Integer.class, 100);
+
+            driver.seed(env.getProperty("loadtest.seed-orders", Integer.class, 100));
+            driver.run(targetRps, Duration.ofSeconds(env.getProperty("loadtest.warmup-seconds", Long.class, 0L)), mix);
+
+            LoadReport report = driver.run(targetRps, Duration.ofSeconds(env.getProperty("loadtest.duration-seconds", Long.class, 60L)), mix);
+            System.out.printf("%nTarget %d req/s, Stripe stub latency %d ms, %d Stripe calls%n",
+                    targetRps, env.getProperty("loadtest.stripe-latency-ms", Long.class, 0L), stripeStub.getRequestCount());
+            report.print(System.out);
+        } finally {
+            context.close();
+            stripeStub.stop();
+            jwksStub.stop();
+        }
+        System.exit(0);
+    }
+
+    private static String signToken(KeyPair keyPair) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setHeaderParam("kid", KEY_ID)
+                .setSubject("load-test-user")
+                .claim("email", "loadtest@quickcart.local")
+                .claim("realm_access", Map.of("roles", List.of("user", "admin")))
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + Duration.ofHours(12).toMillis()))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+}
@@ -0,0 +1,121 @@
+package com.devstack.quickcart.order_service_api.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal local stand-in for the Stripe PaymentIntent API. Every call answers
+ * after a configurable delay so checkout can be measured against a realistic
+ * Stripe round-trip without real keys.
+ */
+public class StripeStubServer {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private volatile long latencyMillis;
+
+    public StripeStubServer(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/v1/payment_intents", this::handlePaymentIntents);
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    private void handlePaymentIntents(HttpExchange exchange) throws IOException {
+        try {
+            requestCount.incrementAndGet();
+            simulateLatency();
+
+            // /v1/payment_intents[/{id}[/{action}]]
+            String[] parts = exchange.getRequestURI().getPath().split("/");
+            String id;
+            String status;
+            long amount = 0;
+            if (parts.length <= 3) {
+                id = "pi_stub_" + sequence.incrementAndGet();
+                status = "succeeded";
+                amount = parseAmount(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            } else {
+                id = parts[3];
+                String action = parts.length > 4 ? parts[4] : "";
+                status = "cancel".equals(action) ? "canceled" : "succeeded";
+            }
+
+            byte[] body = paymentIntentJson(id, status, amount).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void simulateLatency() {
+        long delay = latencyMillis;
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long parseAmount(String form) {
+        for (String pair : form.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && "amount".equals(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8))) {
+                return Long.parseLong(pair.substring(eq + 1));
+            }
+        }
+        return 0;
+    }
+
+    private String paymentIntentJson(String id, String status, long amount) {
+        return "{"
+                + "\"id\":\"" + id + "\","
+                + "\"object\":\"payment_intent\","
+                + "\"amount\":" + amount + ","
+                + "\"currency\":\"usd\","
+                + "\"status\":\"" + status + "\","
+                + "\"client_secret\":\"" + id + "_secret_stub\","
+                + "\"payment_method\":\"pm_card_visa\","
+                + "\"livemode\":false"
+                + "}";
+    }
+}
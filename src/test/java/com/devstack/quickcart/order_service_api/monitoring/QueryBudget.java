@@ -0,0 +1,96 @@
+package com.devstack.quickcart.order_service_api.monitoring;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Declares how many statements (and optionally how much SQL time) an action may
+ * cost and fails with the offending statement list when it goes over.
+ * <pre>QueryBudget.of("searchAll page").selects(2).verify(() -> service.searchAll("", 0, 10));</pre>
+ */
+public final class QueryBudget {
+
+    private final String name;
+    private final Map<StatementType, Integer> maxByType = new EnumMap<>(StatementType.class);
+    private Integer maxTotal;
+    private Double maxMillis;
+
+    private QueryBudget(String name) {
+        this.name = name;
+    }
+
+    public static QueryBudget of(String name) {
+        return new QueryBudget(name);
+    }
+
+    public QueryBudget selects(int max) {
+        maxByType.put(StatementType.SELECT, max);
+        return this;
+    }
+
+    public QueryBudget inserts(int max) {
+        maxByType.put(StatementType.INSERT, max);
+        return this;
+    }
+
+    public QueryBudget updates(int max) {
+        maxByType.put(StatementType.UPDATE, max);
+        return this;
+    }
+
+    public QueryBudget deletes(int max) {
+        maxByType.put(StatementType.DELETE, max);
+        return this;
+    }
+
+    public QueryBudget total(int max) {
+        maxTotal = max;
+        return this;
+    }
+
+    public QueryBudget millis(double max) {
+        maxMillis = max;
+        return this;
+    }
+
+    public void verify(Runnable action) {
+        verify(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T verify(Supplier<T> action) {
+        T result;
+        QueryScope scope = SqlStatementTracker.open(name);
+        try {
+            result = action.get();
+        } finally {
+            scope.close();
+        }
+        check(scope);
+        return result;
+    }
+
+    private void check(QueryScope scope) {
+        StringBuilder violations = new StringBuilder();
+        maxByType.forEach((type, max) -> {
+            if (scope.count(type) > max) {
+                violations.append(String.format("%n  %s: %d > budget %d", type, scope.count(type), max));
+            }
+        });
+        if (maxTotal != null && scope.total() > maxTotal) {
+            violations.append(String.format("%n  total statements: %d > budget %d", scope.total(), maxTotal));
+        }
+        if (maxMillis != null && scope.totalMillis() > maxMillis) {
+            violations.append(String.format("%n  SQL time: %.2f ms > budget %.2f ms", scope.totalMillis(), maxMillis));
+        }
+        if (violations.length() > 0) {
+            StringBuilder message = new StringBuilder("Query budget exceeded for ").append(name).append(':').append(violations)
+                    .append(String.format("%nStatements executed:"));
+            scope.statements().forEach(sql -> message.append(String.format("%n  %s", sql)));
+            throw new AssertionError(message.toString());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.devstack.quickcart.order_service_api.monitoring;
+
+import com.devstack.quickcart.order_service_api.dto.request.CustomerOrderRequestDto;
+import com.devstack.quickcart.order_service_api.dto.request.OrderDetailRequestDto;
+import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
+import com.devstack.quickcart.order_service_api.exception.EntryNotFoundException;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import com.devstack.quickcart.order_service_api.service.CustomerOrderService;
+import com.devstack.quickcart.order_service_api.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class QueryBudgetTests {
+
+    @Autowired
+    private CustomerOrderService customerOrderService;
+
+    @Autowired
+    private CustomerOrderRepo customerOrderRepo;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    private final AuthenticatedUser user = new AuthenticatedUser("budget-user", "budget@quickcart.local", List.of("user"));
+
+    @BeforeEach
+    void stubStripe() {
+        given(paymentService.createPaymentIntent(any(), anyDouble())).willAnswer(invocation ->
+                PaymentResponseDto.builder().paymentIntentId("pi_" + UUID.randomUUID()).status("succeeded").build());
+    }
+
+    @Test
+    void createOrderIsOneLookupPlusOrderInsertAndLineBatch() {
+        QueryBudget.of("createOrder").selects(1).inserts(2).updates(0).deletes(0)
+                .verify(() -> customerOrderService.createOrder(orderRequest(3), user));
+    }
+
+    @Test
+    void findOrderByIdIsOneRow() {
+        customerOrderService.createOrder(orderRequest(3), user);
+        String orderId = customerOrderRepo.findAll().get(0).getOrderId();
+
+        QueryBudget.of("findOrderById").selects(1).total(1)
+                .verify(() -> customerOrderService.findOrderById(orderId));
+    }
+
+    @Test
+    void unknownOrderIdIsRejectedWithoutQuery() {
+        customerOrderService.createOrder(orderRequest(1), user);
+
+        QueryBudget.of("findOrderById unknown").total(0)
+                .verify(() -> assertThatThrownBy(() -> customerOrderService.findOrderById("ORD-S0-1000000000000-DEADBEEF"))
+                        .isInstanceOf(EntryNotFoundException.class));
+    }
+
+    @Test
+    void deleteByIdFlagsOneRowWithoutTouchingLines() {
+        customerOrderService.createOrder(orderRequest(5), user);
+        String orderId = customerOrderRepo.findAll().get(0).getOrderId();
+
+        QueryBudget.of("deleteById").selects(1).updates(1).deletes(0)
+                .verify(() -> customerOrderService.deleteById(orderId));
+    }
+
+    @Test
+    void searchAllPageDoesNotGrowWithPageSize() {
+        for (int i = 0; i < 12; i++) {
+            customerOrderService.createOrder(orderRequest(2), user);
+        }
+
+        // count + page, lines and status come from each row's snapshot
+        QueryBudget.of("searchAll page").selects(2).total(2)
+                .verify(() -> customerOrderService.searchAll("", 0, 10));
+    }
+
+    @Test
+    void repeatedSearchAllPageIsServedFromCacheUntilTheNextWrite() {
+        customerOrderService.createOrder(orderRequest(2), user);
+        customerOrderService.searchAll("", 0, 5);
+
+        QueryBudget.of("searchAll cached").total(0)
+                .verify(() -> customerOrderService.searchAll("", 0, 5));
+
+        customerOrderService.createOrder(orderRequest(2), user);
+        QueryBudget.of("searchAll after write").selects(2).total(2)
+                .verify(() -> customerOrderService.searchAll("", 0, 5));
+    }
+
+    private CustomerOrderRequestDto orderRequest(int lines) {
+        ArrayList<OrderDetailRequestDto> details = new ArrayList<>();
+        double total = 0;
+        for (int i = 0; i < lines; i++) {
+            details.add(new OrderDetailRequestDto("P-" + i, 1, 10.0 + i, 0));
+            total += 10.0 + i;
+        }
+        return new CustomerOrderRequestDto(total, details);
+    }
+}
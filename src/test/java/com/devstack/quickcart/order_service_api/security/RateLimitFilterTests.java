@@ -0,0 +1,75 @@
+package com.devstack.quickcart.order_service_api.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTests {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaults(new RateLimitProperties.Limit(2, 1));
+        filter = new RateLimitFilter(new UserRateLimiter(properties, clock::get),
+                new AntPathRequestMatcher("/api/v1/customer-orders/business", "POST"), new ObjectMapper());
+        AuthenticatedUser user = new AuthenticatedUser("u-1", "user@quickcart.local", List.of("user"));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void overLimitRequestGets429WithRetryAfter() throws Exception {
+        assertThat(createOrder().getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = createOrder();
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        // 2 per minute: the next token is 30 seconds away
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("31");
+        assertThat(rejected.getContentAsString()).contains("\"status\":429");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(createOrder().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void otherRoutesAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = request("PUT", "/api/v1/customer-orders/business/update-remark/ORD-1");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse createOrder() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/customer-orders/business"), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -0,0 +1,165 @@
+package com.devstack.quickcart.order_service_api.security;
+
+import com.devstack.quickcart.order_service_api.loadtest.JwksStubServer;
+import com.devstack.quickcart.order_service_api.service.CustomerOrderService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tokens are signed with keys served from a local JWKS stand-in, so the same
+ * path as production is exercised, including key rotation.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class SecurityTests {
+
+    private static final JwksStubServer JWKS = startJwks();
+    private static final KeyPair CURRENT_KEY = newKeyPair();
+
+    static {
+        JWKS.putKey("key-1", (RSAPublicKey) CURRENT_KEY.getPublic());
+    }
+
+    @DynamicPropertySource
+    static void jwks(DynamicPropertyRegistry registry) {
+        registry.add("security.jwks.uri", JWKS::getJwksUri);
+        registry.add("security.jwks.min-refresh-interval-ms", () -> 0);
+    }
+
+    @AfterAll
+    static void stopJwks() {
+        JWKS.stop();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CustomerOrderService customerOrderService;
+
+    @Test
+    void validTokenReachesTheControllerAsItsUser() throws Exception {
+        createOrder("Bearer " + token(CURRENT_KEY, "key-1", List.of("user"), Duration.ofMinutes(5)))
+                .andExpect(status().isCreated());
+
+        verify(customerOrderService).createOrder(any(), argThat(user ->
+                "alice@quickcart.local".equals(user.getEmail()) && user.hasRole("user")));
+    }
+
+    @Test
+    void missingMalformedOrExpiredTokenIsUnauthorized() throws Exception {
+        createOrder(null).andExpect(status().isUnauthorized());
+        createOrder("Bearer not-a-jwt").andExpect(status().isUnauthorized());
+        createOrder("Bearer " + token(CURRENT_KEY, "key-1", List.of("user"), Duration.ofMinutes(-1)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void roleOutsideTheBusinessRolesIsForbidden() throws Exception {
+        createOrder("Bearer " + token(CURRENT_KEY, "key-1", List.of("guest"), Duration.ofMinutes(5)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void rotatedInKeyIsAcceptedAndRemovedKeyIsRejected() throws Exception {
+        KeyPair rotated = newKeyPair();
+        KeyPair retired = newKeyPair();
+        JWKS.putKey("key-retired", (RSAPublicKey) retired.getPublic());
+        String retiredToken = "Bearer " + token(retired, "key-retired", List.of("user"), Duration.ofMinutes(5));
+        assertThat(awaitStatus(retiredToken, 201)).isEqualTo(201);
+
+        JWKS.putKey("key-rotated", (RSAPublicKey) rotated.getPublic());
+        JWKS.removeKey("key-retired");
+        // an unknown kid only queues a refresh, so the new key is picked up within one round-trip
+        String rotatedToken = "Bearer " + token(rotated, "key-rotated", List.of("user"), Duration.ofMinutes(5));
+        assertThat(awaitStatus(rotatedToken, 201)).isEqualTo(201);
+
+        createOrder(retiredToken).andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions createOrder(String authorization) throws Exception {
+        var request = post("/api/v1/customer-orders/business")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"totalAmount\":10.0,\"orderDetails\":[]}");
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private int awaitStatus(String authorization, int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        int status;
+        do {
+            status = createOrder(authorization).andReturn().getResponse().getStatus();
+            if (status != expected) {
+                Thread.sleep(20);
+            }
+        } while (status != expected && System.currentTimeMillis() < deadline);
+        return status;
+    }
+
+    private static String token(KeyPair keyPair, String keyId, List<String> roles, Duration validFor) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setHeaderParam("kid", keyId)
+                .setSubject("alice")
+                .claim("email", "alice@quickcart.local")
+                .claim("realm_access", Map.of("roles", roles))
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + validFor.toMillis()))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static KeyPair newKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JwksStubServer startJwks() {
+        try {
+            JwksStubServer server = new JwksStubServer();
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.devstack.quickcart.order_service_api.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRateLimiterTests {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final UserRateLimiter limiter = new UserRateLimiter(properties, clock::get);
+
+    private final AuthenticatedUser user = new AuthenticatedUser("u-1", "user@quickcart.local", List.of("user"));
+
+    UserRateLimiterTests() {
+        properties.setDefaults(new RateLimitProperties.Limit(10, 5));
+        properties.getRoles().put("admin", new RateLimitProperties.Limit(120, 30));
+    }
+
+    @Test
+    void burstIsAllowedThenOneTokenPerEmissionInterval() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(user)).as("request %d of the burst", i + 1).isZero();
+        }
+        long wait = limiter.tryAcquire(user);
+        assertThat(wait).isEqualTo(TimeUnit.SECONDS.toNanos(6));
+
+        // 10 per minute: one token every 6 seconds
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6) - 1);
+        assertThat(limiter.tryAcquire(user)).isEqualTo(1);
+        clock.incrementAndGet();
+        assertThat(limiter.tryAcquire(user)).isZero();
+        assertThat(limiter.tryAcquire(user)).isPositive();
+    }
+
+    @Test
+    void adminRoleGetsTheLargerLimit() {
+        AuthenticatedUser admin = new AuthenticatedUser("a-1", "admin@quickcart.local", List.of("user", "admin"));
+        for (int i = 0; i < 30; i++) {
+            assertThat(limiter.tryAcquire(admin)).as("request %d of the burst", i + 1).isZero();
+        }
+        assertThat(limiter.tryAcquire(admin)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        // the user's own bucket is untouched by the admin's
+        assertThat(limiter.tryAcquire(user)).isZero();
+    }
+
+    @Test
+    void trackedUsersStayWithinTheBoundAndRefilledBucketsAreSwept() {
+        properties.setMaxTrackedUsers(3);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(new AuthenticatedUser("u-" + i, "u" + i + "@quickcart.local", List.of("user")));
+            assertThat(limiter.trackedUsers()).isLessThanOrEqualTo(3);
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        limiter.evictIdle();
+        assertThat(limiter.trackedUsers()).isZero();
+    }
+
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        properties.setEnabled(false);
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire(user)).isZero();
+        }
+        assertThat(limiter.trackedUsers()).isZero();
+    }
+}
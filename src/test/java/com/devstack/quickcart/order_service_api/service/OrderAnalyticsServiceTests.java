@@ -0,0 +1,209 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.request.CustomerOrderRequestDto;
+import com.devstack.quickcart.order_service_api.dto.request.OrderDetailRequestDto;
+import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.ProductSalesResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.StatusCountResponseDto;
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.repo.JobLeaseRepo;
+import com.devstack.quickcart.order_service_api.repo.OrderRollupRepo;
+import com.devstack.quickcart.order_service_api.repo.RollupEpochRepo;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import com.devstack.quickcart.order_service_api.service.impl.OrderAnalyticsServiceImpl;
+import com.devstack.quickcart.order_service_api.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class OrderAnalyticsServiceTests {
+
+    private static final String REBUILD_JOB = "order-rollup-rebuild";
+
+    @Autowired
+    private OrderAnalyticsService orderAnalyticsService;
+
+    @Autowired
+    private CustomerOrderService customerOrderService;
+
+    @Autowired
+    private CustomerOrderRepo customerOrderRepo;
+
+    @Autowired
+    private JobLeaseRepo jobLeaseRepo;
+
+    @Autowired
+    private OrderRollupRepo orderRollupRepo;
+
+    @Autowired
+    private RollupEpochRepo rollupEpochRepo;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    private final String email = "analytics-" + UUID.randomUUID() + "@quickcart.local";
+    private final String productId = "P-" + UUID.randomUUID();
+
+    @BeforeEach
+    void stubStripe() {
+        given(paymentService.createPaymentIntent(any(), anyDouble())).willAnswer(invocation ->
+                PaymentResponseDto.builder().paymentIntentId("pi_" + UUID.randomUUID()).status("succeeded").build());
+        orderAnalyticsService.flush();
+    }
+
+    @Test
+    void createStatusChangeAndDeleteMoveTheRollups() {
+        long pending = statusCount("PENDING");
+        long completed = statusCount("COMPLETED");
+
+        String orderId = createOrder();
+        orderAnalyticsService.flush();
+        assertThat(statusCount("PENDING")).isEqualTo(pending + 1);
+        assertThat(product()).hasValueSatisfying(p -> {
+            assertThat(p.getOrderCount()).isEqualTo(1);
+            assertThat(p.getQuantity()).isEqualTo(3);
+            assertThat(p.getRevenue()).isEqualTo(30.0);
+        });
+
+        customerOrderService.manageStatus("COMPLETED", orderId);
+        orderAnalyticsService.flush();
+        assertThat(statusCount("PENDING")).isEqualTo(pending);
+        assertThat(statusCount("COMPLETED")).isEqualTo(completed + 1);
+
+        customerOrderService.deleteById(orderId);
+        orderAnalyticsService.flush();
+        assertThat(statusCount("COMPLETED")).isEqualTo(completed);
+        assertThat(product()).isEmpty();
+    }
+
+    @Test
+    void rolledBackMutationsLeaveTheRollupsUntouched() {
+        String orderId = createOrder();
+        orderAnalyticsService.flush();
+        long pending = statusCount("PENDING");
+        long completed = statusCount("COMPLETED");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            customerOrderService.manageStatus("COMPLETED", orderId);
+            customerOrderService.createOrder(orderRequest(), user());
+            status.setRollbackOnly();
+        });
+        orderAnalyticsService.flush();
+
+        assertThat(statusCount("PENDING")).isEqualTo(pending);
+        assertThat(statusCount("COMPLETED")).isEqualTo(completed);
+        assertThat(product()).hasValueSatisfying(p -> assertThat(p.getOrderCount()).isEqualTo(1));
+    }
+
+    @Test
+    void rebuildRunsOnlyWhileNoOtherInstanceHoldsTheLease() {
+        createOrder();
+        orderAnalyticsService.flush();
+        String rollupId = "PRODUCT:" + productId;
+        jdbcTemplate.update("UPDATE order_rollup SET order_count = 99 WHERE rollup_id = ?", rollupId);
+
+        // another instance is mid-rebuild
+        jdbcTemplate.update("INSERT INTO job_lease (job_name, locked_until, locked_by) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE locked_until = VALUES(locked_until), locked_by = VALUES(locked_by)",
+                REBUILD_JOB, new Date(System.currentTimeMillis() + 60_000), "other-instance");
+        orderAnalyticsService.rebuild();
+        assertThat(rollupCount(rollupId)).isEqualTo(99);
+
+        // its lease ran out without a release
+        jdbcTemplate.update("UPDATE job_lease SET locked_until = ? WHERE job_name = ?", new Date(0), REBUILD_JOB);
+        orderAnalyticsService.rebuild();
+        assertThat(rollupCount(rollupId)).isEqualTo(1);
+        assertThat(product()).hasValueSatisfying(p -> assertThat(p.getOrderCount()).isEqualTo(1));
+        assertThat(jobLeaseRepo.findById(REBUILD_JOB)).hasValueSatisfying(lease ->
+                assertThat(lease.getLockedUntil()).isBeforeOrEqualTo(new Date()));
+    }
+
+    @Test
+    void deltasBufferedElsewhereBeforeARebuildAreNotCountedTwice() {
+        OrderAnalyticsServiceImpl otherInstance = new OrderAnalyticsServiceImpl(orderRollupRepo, rollupEpochRepo,
+                orderArchiveService, transactionTemplate, shardRouter, jobLeaseService);
+        ReflectionTestUtils.setField(otherInstance, "zone", ZoneId.of("UTC"));
+
+        // the other instance took the order and has not flushed yet when the rebuild scans it
+        String orderId = createOrder();
+        otherInstance.recordOrderCreated(customerOrderRepo.findAllWithProducts(List.of(orderId)).get(0));
+        orderAnalyticsService.rebuild();
+        assertThat(product()).hasValueSatisfying(p -> assertThat(p.getOrderCount()).isEqualTo(1));
+
+        otherInstance.flush();
+        orderAnalyticsService.flush();
+        assertThat(product()).hasValueSatisfying(p -> assertThat(p.getOrderCount()).isEqualTo(1));
+        assertThat(rollupCount("PRODUCT:" + productId)).isEqualTo(1);
+    }
+
+    private String createOrder() {
+        customerOrderService.createOrder(orderRequest(), user());
+        return customerOrderRepo.findAll().stream()
+                .filter(order -> email.equals(order.getUserId()))
+                .map(CustomerOrder::getOrderId)
+                .findFirst().orElseThrow();
+    }
+
+    private long statusCount(String status) {
+        return orderAnalyticsService.ordersPerStatus().stream()
+                .filter(s -> status.equals(s.getStatus()))
+                .mapToLong(StatusCountResponseDto::getOrderCount)
+                .findFirst().orElse(0);
+    }
+
+    private Optional<ProductSalesResponseDto> product() {
+        return orderAnalyticsService.topProducts(Integer.MAX_VALUE).stream()
+                .filter(p -> productId.equals(p.getProductId()))
+                .findFirst();
+    }
+
+    private Long rollupCount(String rollupId) {
+        return jdbcTemplate.queryForObject("SELECT order_count FROM order_rollup WHERE rollup_id = ?", Long.class, rollupId);
+    }
+
+    private AuthenticatedUser user() {
+        return new AuthenticatedUser("analytics-user", email, List.of("user"));
+    }
+
+    private CustomerOrderRequestDto orderRequest() {
+        ArrayList<OrderDetailRequestDto> details = new ArrayList<>();
+        details.add(new OrderDetailRequestDto(productId, 3, 10.0, 0));
+        return new CustomerOrderRequestDto(30.0, details);
+    }
+}
@@ -0,0 +1,146 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.request.CustomerOrderRequestDto;
+import com.devstack.quickcart.order_service_api.dto.request.OrderDetailRequestDto;
+import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.ProductSalesResponseDto;
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+import com.devstack.quickcart.order_service_api.repo.ArchivedOrderRepo;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class OrderArchiveServiceTests {
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderAnalyticsService orderAnalyticsService;
+
+    @Autowired
+    private CustomerOrderService customerOrderService;
+
+    @Autowired
+    private CustomerOrderRepo customerOrderRepo;
+
+    @Autowired
+    private ArchivedOrderRepo archivedOrderRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    private final String email = "archive-" + UUID.randomUUID() + "@quickcart.local";
+    private final String productId = "P-" + UUID.randomUUID();
+
+    @BeforeEach
+    void stubStripe() {
+        given(paymentService.createPaymentIntent(any(), anyDouble())).willAnswer(invocation ->
+                PaymentResponseDto.builder().paymentIntentId("pi_" + UUID.randomUUID()).status("succeeded").build());
+    }
+
+    @Test
+    void archivedOrderIsStillFoundByIdAndCountedInRollups() {
+        String orderId = createAgedOrder("COMPLETED");
+        CustomerOrderResponseDto live = customerOrderService.findOrderById(orderId);
+
+        assertThat(orderArchiveService.archiveFinalizedOrders()).isPositive();
+
+        assertThat(customerOrderRepo.findById(orderId)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_detail WHERE customer_order_id = ?", Long.class, orderId)).isZero();
+        CustomerOrderResponseDto archived = customerOrderService.findOrderById(orderId);
+        assertThat(archived.getStatus()).isEqualTo("COMPLETED");
+        assertThat(archived.getTotalAmount()).isEqualTo(live.getTotalAmount());
+        assertThat(archived.getOrderDetails()).singleElement().satisfies(line -> {
+            assertThat(line.getProductId()).isEqualTo(productId);
+            assertThat(line.getQty()).isEqualTo(2);
+        });
+
+        orderAnalyticsService.rebuild();
+        assertThat(product()).hasValueSatisfying(p -> {
+            assertThat(p.getOrderCount()).isEqualTo(1);
+            assertThat(p.getQuantity()).isEqualTo(2);
+        });
+
+        // a second run leaves the archived copy alone
+        Date archivedAt = archivedOrderRepo.findById(orderId).orElseThrow().getArchivedAt();
+        orderArchiveService.archiveFinalizedOrders();
+        assertThat(archivedOrderRepo.findById(orderId).orElseThrow().getArchivedAt()).isEqualTo(archivedAt);
+    }
+
+    @Test
+    void orderReopenedWhileTheBatchWaitsForItsLockStaysLive() throws Exception {
+        String orderId = createAgedOrder("COMPLETED");
+
+        CompletableFuture<Integer> archiving = transactionTemplate.execute(status -> {
+            // holds the row lock until this transaction commits
+            customerOrderService.manageStatus("PENDING", orderId);
+            customerOrderRepo.flush();
+            CompletableFuture<Integer> run = CompletableFuture.supplyAsync(orderArchiveService::archiveFinalizedOrders);
+            sleep(300);
+            return run;
+        });
+        archiving.get(10, TimeUnit.SECONDS);
+
+        assertThat(archivedOrderRepo.findById(orderId)).isEmpty();
+        assertThat(customerOrderService.findOrderById(orderId).getStatus()).isEqualTo("PENDING");
+    }
+
+    private String createAgedOrder(String status) {
+        ArrayList<OrderDetailRequestDto> details = new ArrayList<>();
+        details.add(new OrderDetailRequestDto(productId, 2, 12.5, 0));
+        customerOrderService.createOrder(new CustomerOrderRequestDto(25.0, details),
+                new AuthenticatedUser("archive-user", email, List.of("user")));
+        String orderId = customerOrderRepo.findAll().stream()
+                .filter(order -> email.equals(order.getUserId()))
+                .map(CustomerOrder::getOrderId)
+                .findFirst().orElseThrow();
+        customerOrderService.manageStatus(status, orderId);
+        jdbcTemplate.update("UPDATE customer_order SET order_date = ? WHERE order_id = ?",
+                new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(365)), orderId);
+        return orderId;
+    }
+
+    private Optional<ProductSalesResponseDto> product() {
+        return orderAnalyticsService.topProducts(Integer.MAX_VALUE).stream()
+                .filter(p -> productId.equals(p.getProductId()))
+                .findFirst();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
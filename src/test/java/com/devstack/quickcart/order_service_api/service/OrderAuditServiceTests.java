@@ -0,0 +1,90 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.audit.AuditEventType;
+import com.devstack.quickcart.order_service_api.audit.AuditLog;
+import com.devstack.quickcart.order_service_api.audit.AuditRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class OrderAuditServiceTests {
+
+    @Autowired
+    private OrderAuditService orderAuditService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @Test
+    void onlyCommittedTransactionsAreAudited() {
+        String orderId = "ORD-AUDIT-" + UUID.randomUUID();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transaction.executeWithoutResult(outer -> {
+            orderAuditService.record(AuditEventType.ORDER_CREATED, orderId, null, "PENDING", "outer", 10);
+            requiresNew.executeWithoutResult(inner ->
+                    orderAuditService.record(AuditEventType.STATUS_CHANGED, orderId, "PENDING", "CONFIRMED", "inner", 10));
+            outer.setRollbackOnly();
+        });
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < 20; i++) {
+                orderAuditService.record(AuditEventType.REMARK_CHANGED, orderId, null, "remark-" + i, "committed", i);
+            }
+        });
+        orderAuditService.record(AuditEventType.ORDER_DELETED, orderId, "CONFIRMED", null, "no transaction", 10);
+
+        assertThat(awaitWritten(orderId)).extracting(AuditRecord::detail)
+                .containsOnly("inner", "committed", "no transaction")
+                .hasSize(22);
+    }
+
+    @Test
+    void recordingInsideATransactionAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long[] allocated = new long[1];
+        // the first pass grows this thread's buffer and warms the JIT, the second is measured
+        for (int pass = 0; pass < 2; pass++) {
+            transaction.executeWithoutResult(status -> {
+                long before = threads.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < 1_000; i++) {
+                    orderAuditService.record(AuditEventType.STATUS_CHANGED, "ORD-AUDIT-ALLOC", "PENDING", "CONFIRMED", null, i);
+                }
+                allocated[0] = threads.getCurrentThreadAllocatedBytes() - before;
+                status.setRollbackOnly();
+            });
+        }
+        assertThat(allocated[0]).isLessThan(1024);
+    }
+
+    private List<AuditRecord> awaitWritten(String orderId) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (auditLog.getWritten() < auditLog.getAppended() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000_000);
+        }
+        return orderAuditService.findByOrderId(orderId);
+    }
+}
@@ -0,0 +1,85 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.request.CustomerOrderRequestDto;
+import com.devstack.quickcart.order_service_api.dto.request.OrderDetailRequestDto;
+import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+import com.devstack.quickcart.order_service_api.exception.EntryNotFoundException;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest(properties = {"purge.enabled=false", "purge.grace-ms=0"})
+@ActiveProfiles("embedded")
+class OrderPurgeServiceTests {
+
+    @Autowired
+    private CustomerOrderService customerOrderService;
+
+    @Autowired
+    private OrderPurgeService orderPurgeService;
+
+    @Autowired
+    private CustomerOrderRepo customerOrderRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @Test
+    void deletedOrderIsHiddenAtOnceAndPurgedLater() {
+        given(paymentService.createPaymentIntent(any(), anyDouble())).willAnswer(invocation ->
+                PaymentResponseDto.builder().paymentIntentId("pi_" + UUID.randomUUID()).status("succeeded").build());
+        String email = "purge-" + UUID.randomUUID() + "@quickcart.local";
+        AuthenticatedUser user = new AuthenticatedUser("purge-user", email, List.of("user"));
+        customerOrderService.createOrder(orderRequest(), user);
+        customerOrderService.createOrder(orderRequest(), user);
+        List<String> orderIds = customerOrderRepo.findAll().stream()
+                .filter(order -> email.equals(order.getUserId()))
+                .map(CustomerOrder::getOrderId)
+                .toList();
+        String deleted = orderIds.get(0);
+        String kept = orderIds.get(1);
+
+        customerOrderService.deleteById(deleted);
+
+        assertThatThrownBy(() -> customerOrderService.findOrderById(deleted)).isInstanceOf(EntryNotFoundException.class);
+        assertThat(customerOrderRepo.findById(deleted)).isEmpty();
+        assertThat(detailRows(deleted)).isEqualTo(2);
+        assertThat(orderPurgeService.getStats().getAwaitingPurge()).isPositive();
+
+        assertThat(orderPurgeService.purgeDeletedOrders()).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customer_order WHERE order_id = ?", Integer.class, deleted)).isZero();
+        assertThat(detailRows(deleted)).isZero();
+        assertThat(customerOrderService.findOrderById(kept).getOrderDetails()).hasSize(2);
+        assertThat(orderPurgeService.getStats().getAwaitingPurge()).isZero();
+    }
+
+    private int detailRows(String orderId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_detail WHERE customer_order_id = ?", Integer.class, orderId);
+    }
+
+    private static CustomerOrderRequestDto orderRequest() {
+        ArrayList<OrderDetailRequestDto> details = new ArrayList<>();
+        details.add(new OrderDetailRequestDto("P-1", 1, 10.0, 0));
+        details.add(new OrderDetailRequestDto("P-2", 2, 5.0, 0));
+        return new CustomerOrderRequestDto(15.0, details);
+    }
+}
@@ -0,0 +1,70 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.request.CustomerOrderRequestDto;
+import com.devstack.quickcart.order_service_api.dto.request.OrderDetailRequestDto;
+import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class OrderSnapshotServiceTests {
+
+    @Autowired
+    private CustomerOrderService customerOrderService;
+
+    @Autowired
+    private OrderSnapshotService orderSnapshotService;
+
+    @Autowired
+    private CustomerOrderRepo customerOrderRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @Test
+    void driftedSnapshotIsRebuiltFromOrderDetails() {
+        given(paymentService.createPaymentIntent(any(), anyDouble())).willReturn(
+                PaymentResponseDto.builder().paymentIntentId("pi_" + UUID.randomUUID()).status("succeeded").build());
+        String email = "snapshot-" + UUID.randomUUID() + "@quickcart.local";
+        customerOrderService.createOrder(orderRequest(), new AuthenticatedUser("snapshot-user", email, List.of("user")));
+        String orderId = customerOrderRepo.findAll().stream()
+                .filter(order -> email.equals(order.getUserId()))
+                .map(CustomerOrder::getOrderId)
+                .findFirst().orElseThrow();
+        assertThat(customerOrderService.findOrderById(orderId).getOrderDetails()).hasSize(2);
+
+        jdbcTemplate.update("UPDATE customer_order SET line_snapshot = ? WHERE order_id = ?", "{\"s\":\"PENDING\",\"l\":[]}", orderId);
+        assertThat(customerOrderService.findOrderById(orderId).getOrderDetails()).isEmpty();
+
+        assertThat(orderSnapshotService.verifySnapshots()).isPositive();
+        assertThat(customerOrderService.findOrderById(orderId).getOrderDetails()).hasSize(2);
+        assertThat(orderSnapshotService.verifySnapshots()).isZero();
+    }
+
+    private static CustomerOrderRequestDto orderRequest() {
+        ArrayList<OrderDetailRequestDto> details = new ArrayList<>();
+        details.add(new OrderDetailRequestDto("P-1", 1, 10.0, 0));
+        details.add(new OrderDetailRequestDto("P-2", 2, 5.0, 0));
+        return new CustomerOrderRequestDto(15.0, details);
+    }
+}
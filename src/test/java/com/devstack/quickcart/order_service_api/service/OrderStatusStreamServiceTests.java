@@ -0,0 +1,259 @@
+package com.devstack.quickcart.order_service_api.service;
+
+import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+import com.devstack.quickcart.order_service_api.entity.OrderStatus;
+import com.devstack.quickcart.order_service_api.exception.EntryNotFoundException;
+import com.devstack.quickcart.order_service_api.exception.TooManyRequestsException;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import com.devstack.quickcart.order_service_api.service.impl.OrderStatusStreamServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class OrderStatusStreamServiceTests {
+
+    private static final long WAIT_MS = 5_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CustomerOrderService customerOrderService = mock(CustomerOrderService.class);
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private OrderStatusStreamServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void start() {
+        given(customerOrderService.findOrderById(anyString())).willAnswer(invocation ->
+                CustomerOrderResponseDto.builder().orderId(invocation.getArgument(0)).userId("alice@quickcart.local").status("PENDING").build());
+        ObjectProvider<CustomerOrderService> provider = mock(ObjectProvider.class);
+        given(provider.getObject()).willReturn(customerOrderService);
+
+        service = new OrderStatusStreamServiceImpl(provider, objectMapper) {
+            @Override
+            protected SseEmitter newEmitter(long timeoutMs) {
+                RecordingEmitter emitter = new RecordingEmitter(timeoutMs);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        ReflectionTestUtils.setField(service, "maxConnections", 4);
+        ReflectionTestUtils.setField(service, "maxConnectionsPerKey", 2);
+        ReflectionTestUtils.setField(service, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(service, "dispatchThreads", 4);
+        service.init();
+    }
+
+    @AfterEach
+    void stop() {
+        service.shutdown();
+    }
+
+    @Test
+    void eventsFanOutToOrderAndUserSubscribersOnly() throws Exception {
+        service.subscribeToOrder("ORD-1");
+        service.subscribeToOrder("ORD-1");
+        service.subscribeToUser(new AuthenticatedUser("alice", "alice@quickcart.local", List.of("user")));
+        service.subscribeToUser(new AuthenticatedUser("bob", "bob@quickcart.local", List.of("user")));
+        RecordingEmitter firstOrder = emitters.get(0);
+        RecordingEmitter secondOrder = emitters.get(1);
+        RecordingEmitter alice = emitters.get(2);
+        RecordingEmitter bob = emitters.get(3);
+
+        service.publishUpdate(order("ORD-1", "alice@quickcart.local", "COMPLETED"));
+
+        for (RecordingEmitter emitter : List.of(firstOrder, secondOrder)) {
+            assertThat(emitter.awaitEvents(2)).extracting(e -> e.get("type"), e -> e.get("status"))
+                    .containsExactly(tuple("SNAPSHOT", "PENDING"), tuple("UPDATED", "COMPLETED"));
+        }
+        assertThat(alice.awaitEvents(1)).singleElement().satisfies(e -> assertThat(e.get("status")).isEqualTo("COMPLETED"));
+        Thread.sleep(100);
+        assertThat(bob.events()).isEmpty();
+    }
+
+    @Test
+    void eventsOfOneOrderArriveInPublishOrder() throws Exception {
+        service.subscribeToOrder("ORD-2");
+        service.subscribeToUser(new AuthenticatedUser("alice", "alice@quickcart.local", List.of("user")));
+        List<String> published = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String status = i % 2 == 0 ? "PENDING" : "PAID";
+            published.add(status + "-" + i);
+            CustomerOrder order = order("ORD-2", "alice@quickcart.local", status);
+            order.setRemark(status + "-" + i);
+            service.publishUpdate(order);
+        }
+
+        List<Map<String, Object>> byOrder = emitters.get(0).awaitEvents(published.size() + 1);
+        List<Map<String, Object>> byUser = emitters.get(1).awaitEvents(published.size());
+
+        assertThat(byOrder.get(0).get("type")).isEqualTo("SNAPSHOT");
+        assertThat(byOrder.subList(1, byOrder.size())).extracting(e -> e.get("remark")).containsExactlyElementsOf(published);
+        assertThat(byUser).extracting(e -> e.get("remark")).containsExactlyElementsOf(published);
+    }
+
+    @Test
+    void timedOutAndCompletedStreamsAreReleased() throws Exception {
+        service.subscribeToOrder("ORD-3");
+        service.subscribeToOrder("ORD-3");
+        assertThatThrownBy(() -> service.subscribeToOrder("ORD-3")).isInstanceOf(TooManyRequestsException.class);
+
+        RecordingEmitter timedOut = emitters.get(0);
+        timedOut.awaitEvents(1);
+        timedOut.timeout();
+        service.subscribeToOrder("ORD-3");
+        service.publishUpdate(order("ORD-3", "alice@quickcart.local", "PAID"));
+        emitters.get(1).awaitEvents(2);
+        assertThat(timedOut.events()).hasSize(1);
+
+        // deleting an order closes its streams and frees their slots
+        service.publishDelete(CustomerOrderResponseDto.builder().orderId("ORD-3").userId("alice@quickcart.local").status("PAID").build());
+        assertThat(emitters.get(1).awaitEvents(3).get(2).get("type")).isEqualTo("DELETED");
+        assertThat(emitters.get(1).awaitCompleted()).isTrue();
+        assertThat(emitters.get(3).awaitCompleted()).isTrue();
+        for (int i = 0; i < 4; i++) {
+            service.subscribeToOrder("ORD-" + (10 + i / 2));
+        }
+    }
+
+    @Test
+    void updateCommittedWhileTheSnapshotIsReadStillArrivesAfterIt() throws Exception {
+        given(customerOrderService.findOrderById("ORD-4")).willAnswer(invocation -> {
+            service.publishUpdate(order("ORD-4", "alice@quickcart.local", "PAID"));
+            Thread.sleep(50);
+            return CustomerOrderResponseDto.builder().orderId("ORD-4").status("PENDING").build();
+        });
+
+        service.subscribeToOrder("ORD-4");
+
+        assertThat(emitters.get(0).awaitEvents(2)).extracting(e -> e.get("type"), e -> e.get("status"))
+                .containsExactly(tuple("SNAPSHOT", "PENDING"), tuple("UPDATED", "PAID"));
+    }
+
+    @Test
+    void missingOrderFreesTheSlotItTookOut() {
+        given(customerOrderService.findOrderById("ORD-5")).willThrow(new EntryNotFoundException("Order not found with ORD-5"));
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> service.subscribeToOrder("ORD-5")).isInstanceOf(EntryNotFoundException.class);
+        }
+        service.subscribeToOrder("ORD-6");
+    }
+
+    @Test
+    void heartbeatsAreWrittenFromTheDispatchThreads() throws Exception {
+        service.subscribeToOrder("ORD-7");
+        service.subscribeToUser(new AuthenticatedUser("alice", "alice@quickcart.local", List.of("user")));
+
+        service.heartbeat();
+
+        for (RecordingEmitter emitter : emitters) {
+            assertThat(emitter.awaitPing()).startsWith("order-stream-dispatch-");
+        }
+    }
+
+    private static CustomerOrder order(String orderId, String userId, String status) {
+        CustomerOrder order = new CustomerOrder();
+        order.setOrderId(orderId);
+        order.setUserId(userId);
+        order.setOrderDate(new Date());
+        order.setOrderStatus(OrderStatus.builder().statusId(status).status(status).build());
+        return order;
+    }
+
+    // Records the data lines written to the stream and captures the container's timeout callback.
+    private final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> data = new CopyOnWriteArrayList<>();
+        private volatile String pingThread;
+        private volatile Runnable timeoutCallback;
+        private volatile boolean completed;
+
+        private RecordingEmitter(long timeoutMs) {
+            super(timeoutMs);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith("data:")) {
+                    data.add(line.substring("data:".length()));
+                } else if (line.startsWith(":")) {
+                    pingThread = Thread.currentThread().getName();
+                }
+            }
+        }
+
+        @Override
+        public void onTimeout(Runnable callback) {
+            timeoutCallback = callback;
+            super.onTimeout(callback);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        void timeout() {
+            timeoutCallback.run();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> events() {
+            List<Map<String, Object>> events = new ArrayList<>();
+            for (String json : data) {
+                try {
+                    events.add(objectMapper.readValue(json, Map.class));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return events;
+        }
+
+        List<Map<String, Object>> awaitEvents(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + WAIT_MS;
+            while (data.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(data).as("events on stream").hasSizeGreaterThanOrEqualTo(count);
+            return events();
+        }
+
+        String awaitPing() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + WAIT_MS;
+            while (pingThread == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            return pingThread;
+        }
+
+        boolean awaitCompleted() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + WAIT_MS;
+            while (!completed && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            return completed;
+        }
+    }
+}
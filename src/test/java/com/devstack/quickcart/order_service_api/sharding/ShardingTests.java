@@ -0,0 +1,130 @@
+package com.devstack.quickcart.order_service_api.sharding;
+
+import com.devstack.quickcart.order_service_api.dto.request.CustomerOrderRequestDto;
+import com.devstack.quickcart.order_service_api.dto.request.OrderDetailRequestDto;
+import com.devstack.quickcart.order_service_api.dto.response.CustomerOrderResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
+import com.devstack.quickcart.order_service_api.dto.response.paginate.CustomerOrderPaginateDto;
+import com.devstack.quickcart.order_service_api.entity.CustomerOrder;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import com.devstack.quickcart.order_service_api.service.CustomerOrderService;
+import com.devstack.quickcart.order_service_api.service.PaymentService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Three in-memory databases stand in for three shards.
+ */
+@SpringBootTest
+@ActiveProfiles({"embedded", "sharded"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ShardingTests {
+
+    private static final int USERS = 24;
+
+    @Autowired
+    private CustomerOrderService customerOrderService;
+
+    @Autowired
+    private CustomerOrderRepo customerOrderRepo;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void stubStripe() {
+        given(paymentService.createPaymentIntent(any(), anyDouble())).willAnswer(invocation ->
+                PaymentResponseDto.builder().paymentIntentId("pi_" + UUID.randomUUID()).status("succeeded").build());
+    }
+
+    @BeforeAll
+    void placeOrders() {
+        stubStripe();
+        for (int i = 0; i < USERS; i++) {
+            customerOrderService.createOrder(orderRequest(), new AuthenticatedUser("user-" + i, "user" + i + "@quickcart.local", List.of("user")));
+        }
+    }
+
+    @Test
+    void everyShardPoolIsBoundFromTheHikariSettings() throws Exception {
+        List<DataSource> pools = dataSource.unwrap(ShardedDataSource.class).getShards();
+        assertThat(pools).extracting(pool -> ((HikariDataSource) pool).getMaximumPoolSize()).containsExactly(6, 6, 3);
+        assertThat(pools).extracting(pool -> ((HikariDataSource) pool).getPoolName()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void ordersAreSpreadAcrossShardsByUser() {
+        long total = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            long count = shardRouter.inShard(shard, customerOrderRepo::count);
+            assertThat(count).as("orders on shard %d", shard).isPositive();
+            total += count;
+        }
+        assertThat(total).isEqualTo(USERS);
+    }
+
+    @Test
+    void orderIdsLeadBackToTheirShard() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int expected = shard;
+            List<CustomerOrder> orders = shardRouter.inShard(shard, customerOrderRepo::findAll);
+            for (CustomerOrder order : orders) {
+                String id = order.getOrderId();
+                assertThat(shardRouter.shardOf(id)).isEqualTo(expected);
+                // the lookup filter judges coverage by the id and refreshes by order_date (DATETIME may drop millis)
+                assertThat(order.getOrderDate().getTime()).isCloseTo(shardRouter.createdAtMillis(id), within(1000L));
+                assertThat(customerOrderService.findOrderById(id).getOrderId()).isEqualTo(id);
+            }
+        }
+    }
+
+    @Test
+    void searchAllMergesShardsIntoOneOrderedSequence() {
+        int size = 5;
+        List<CustomerOrderResponseDto> all = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            CustomerOrderPaginateDto result = customerOrderService.searchAll("", page, size);
+            assertThat(result.getCount()).isEqualTo(USERS);
+            if (result.getDataList().isEmpty()) {
+                break;
+            }
+            all.addAll(result.getDataList());
+        }
+        assertThat(all).hasSize(USERS);
+        assertThat(all.stream().map(CustomerOrderResponseDto::getOrderId).distinct().count()).isEqualTo(USERS);
+        for (int i = 1; i < all.size(); i++) {
+            assertThat(all.get(i - 1).getOrderDate()).isAfterOrEqualTo(all.get(i).getOrderDate());
+        }
+        assertThat(all).allSatisfy(order -> assertThat(order.getOrderDetails()).hasSize(2));
+    }
+
+    private static CustomerOrderRequestDto orderRequest() {
+        ArrayList<OrderDetailRequestDto> details = new ArrayList<>();
+        details.add(new OrderDetailRequestDto("P-1", 1, 10.0, 0));
+        details.add(new OrderDetailRequestDto("P-2", 2, 5.0, 0));
+        return new CustomerOrderRequestDto(15.0, details);
+    }
+}
@@ -0,0 +1,114 @@
+package com.devstack.quickcart.order_service_api.stripe;
+
+import com.devstack.quickcart.order_service_api.dto.response.StripeTransportStatsResponseDto;
+import com.stripe.Stripe;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.ApiResource;
+import com.stripe.net.LiveStripeResponseGetter;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PooledStripeHttpClientTests {
+
+    private HttpServer server;
+    private PooledStripeHttpClient client;
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final List<String> idempotencyKeys = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/payment_intents", exchange -> {
+            idempotencyKeys.add(String.valueOf(exchange.getRequestHeaders().getFirst("Idempotency-Key")));
+            exchange.getRequestBody().readAllBytes();
+            boolean fail = failuresLeft.getAndDecrement() > 0;
+            String id = exchange.getRequestURI().getPath().replaceAll(".*/(pi_[^/]+).*", "$1");
+            byte[] body = (fail
+                    ? "{\"error\":{\"type\":\"api_error\",\"message\":\"try again\"}}"
+                    : "{\"id\":\"" + id + "\",\"object\":\"payment_intent\",\"status\":\"succeeded\",\"amount\":1000,\"currency\":\"usd\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(fail ? 503 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        StripeHttpProperties properties = new StripeHttpProperties();
+        properties.getRetry().setInitialBackoffMs(10);
+        properties.getRetry().setMaxBackoffMs(20);
+        client = new PooledStripeHttpClient(properties);
+        Stripe.apiKey = "sk_test_pooled";
+        Stripe.overrideApiBase("http://127.0.0.1:" + server.getAddress().getPort());
+        ApiResource.setGlobalResponseGetter(new LiveStripeResponseGetter(client));
+    }
+
+    @AfterEach
+    void stop() {
+        ApiResource.setGlobalResponseGetter(new LiveStripeResponseGetter());
+        Stripe.overrideApiBase(Stripe.LIVE_API_BASE);
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    void retriesRetryableResponsesOnOneKeptAliveConnection() throws StripeException {
+        failuresLeft.set(2);
+
+        PaymentIntent paymentIntent = PaymentIntent.retrieve("pi_retry_1");
+        PaymentIntent.retrieve("pi_retry_2");
+
+        assertThat(paymentIntent.getStatus()).isEqualTo("succeeded");
+        StripeTransportStatsResponseDto stats = client.getStats();
+        assertThat(stats.getRetries()).isEqualTo(2);
+        assertThat(stats.getConnectionsOpened()).isEqualTo(1);
+        assertThat(stats.getEndpoints()).singleElement().satisfies(endpoint -> {
+            assertThat(endpoint.getEndpoint()).isEqualTo("GET /v1/payment_intents/{id}");
+            assertThat(endpoint.getCalls()).isEqualTo(4);
+            assertThat(endpoint.getErrorResponses()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        failuresLeft.set(10);
+
+        assertThatThrownBy(() -> PaymentIntent.retrieve("pi_down")).isInstanceOf(StripeException.class);
+
+        assertThat(idempotencyKeys).hasSize(3);
+        assertThat(client.getStats().getRetries()).isEqualTo(2);
+    }
+
+    @Test
+    void writesReuseOneIdempotencyKeyForAllAttempts() throws StripeException {
+        PaymentIntent paymentIntent = PaymentIntent.retrieve("pi_cancel");
+        failuresLeft.set(2);
+        idempotencyKeys.clear();
+
+        paymentIntent.cancel();
+
+        assertThat(idempotencyKeys).hasSize(3).doesNotContain("null");
+        assertThat(idempotencyKeys.stream().distinct()).hasSize(1);
+    }
+
+    @Test
+    void collapsesIdsInEndpointNames() {
+        assertThat(PooledStripeHttpClient.normalizePath("/v1/payment_intents/pi_123/confirm")).isEqualTo("/v1/payment_intents/{id}/confirm");
+        assertThat(PooledStripeHttpClient.normalizePath("/v1/payment_intents")).isEqualTo("/v1/payment_intents");
+    }
+}
@@ -0,0 +1,36 @@
+package com.devstack.quickcart.order_service_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+    @Test
+    void neverForgetsAnInsertedId() {
+        BloomFilter filter = BloomFilter.create(20_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("ORD-S0-" + i);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain("ORD-S0-" + i)).isTrue();
+        }
+        assertThat(filter.getInsertions()).isEqualTo(20_000);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = BloomFilter.create(20_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("pi_" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("pi_missing_" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.estimatedFalsePositiveRate()).isBetween(0.005, 0.02);
+    }
+}
@@ -0,0 +1,71 @@
+package com.devstack.quickcart.order_service_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTests {
+
+    @Test
+    void firesEachKeyOnceAtItsDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule("soon", 1_500);
+        wheel.schedule("hour", 3_600_000);
+        wheel.schedule("month", 30L * 24 * 3_600_000);
+
+        assertThat(wheel.advance(1_000)).isEmpty();
+        assertThat(wheel.advance(2_000)).containsExactly("soon");
+        assertThat(wheel.advance(3_599_000)).isEmpty();
+        assertThat(wheel.advance(3_600_000)).containsExactly("hour");
+        assertThat(wheel.advance(30L * 24 * 3_600_000)).containsExactly("month");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rescheduleAndCancelReplaceTheDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule("a", 5_000);
+        wheel.schedule("b", 5_000);
+        wheel.schedule("a", 90_000);
+        assertThat(wheel.cancel("b")).isTrue();
+
+        assertThat(wheel.advance(10_000)).isEmpty();
+        assertThat(wheel.contains("a")).isTrue();
+        assertThat(wheel.advance(90_000)).containsExactly("a");
+        assertThat(wheel.cancel("a")).isFalse();
+    }
+
+    @Test
+    void matchesASortedReferenceUnderRandomOperations() {
+        Random random = new Random(42);
+        long now = 1_700_000_000_000L;
+        TimingWheel<Integer> wheel = new TimingWheel<>(100, now);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int round = 0; round < 2_000; round++) {
+            for (int op = 0; op < 20; op++) {
+                int key = random.nextInt(5_000);
+                if (random.nextInt(4) == 0) {
+                    wheel.cancel(key);
+                    deadlines.remove(key);
+                } else {
+                    // mostly near-term, some far beyond the top level, some already past
+                    long deadline = now - 1_000 + (long) (Math.pow(random.nextDouble(), 4) * 3_000_000_000L);
+                    wheel.schedule(key, deadline);
+                    deadlines.put(key, deadline);
+                }
+            }
+            now += random.nextInt(50_000);
+            Set<Integer> expected = new HashSet<>();
+            for (Map.Entry<Integer, Long> entry : deadlines.entrySet()) {
+                if (-Math.floorDiv(-entry.getValue(), 100L) <= now / 100) {
+                    expected.add(entry.getKey());
+                }
+            }
+            expected.forEach(deadlines::remove);
+            assertThat(new HashSet<>(wheel.advance(now))).isEqualTo(expected);
+            assertThat(wheel.size()).isEqualTo(deadlines.size());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.devstack.quickcart.order_service_api.warmup;
+
+import com.devstack.quickcart.order_service_api.dto.request.CustomerOrderRequestDto;
+import com.devstack.quickcart.order_service_api.dto.request.OrderDetailRequestDto;
+import com.devstack.quickcart.order_service_api.dto.response.PaymentResponseDto;
+import com.devstack.quickcart.order_service_api.repo.CustomerOrderRepo;
+import com.devstack.quickcart.order_service_api.repo.OrderDetailRepo;
+import com.devstack.quickcart.order_service_api.security.AuthenticatedUser;
+import com.devstack.quickcart.order_service_api.service.CustomerOrderService;
+import com.devstack.quickcart.order_service_api.service.PaymentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.BDDMockito.given;
+
+// shares the embedded context with the service tests and runs the loop by hand
+@SpringBootTest
+@ActiveProfiles("embedded")
+class WarmupRunnerTests {
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private CustomerOrderService customerOrderService;
+
+    @Autowired
+    private CustomerOrderRepo customerOrderRepo;
+
+    @Autowired
+    private OrderDetailRepo orderDetailRepo;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @Test
+    void warmupCompletesWithoutLeavingOrdersBehind() {
+        // gives the lookup half of each checkout an existing order to read
+        given(paymentService.createPaymentIntent(any(), anyDouble())).willReturn(
+                PaymentResponseDto.builder().paymentIntentId("pi_" + UUID.randomUUID()).status("succeeded").build());
+        customerOrderService.createOrder(orderRequest(), new AuthenticatedUser("warmup-test", "warmup-test@quickcart.local", List.of("user")));
+        long orders = customerOrderRepo.count();
+        long details = orderDetailRepo.count();
+
+        warmupRunner.warmUp(10, 60_000);
+
+        assertThat(warmupRunner.getCompletedIterations()).isEqualTo(10);
+        assertThat(customerOrderRepo.count()).isEqualTo(orders);
+        assertThat(orderDetailRepo.count()).isEqualTo(details);
+    }
+
+    private static CustomerOrderRequestDto orderRequest() {
+        ArrayList<OrderDetailRequestDto> details = new ArrayList<>();
+        details.add(new OrderDetailRequestDto("P-1", 1, 10.0, 0));
+        return new CustomerOrderRequestDto(10.0, details);
+    }
+}